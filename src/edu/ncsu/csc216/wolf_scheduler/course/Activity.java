@@ -1,5 +1,7 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.io.IOException;
+
 /** 
  * Super class of the Course class
  */
@@ -11,14 +13,24 @@ public abstract class Activity implements Conflict {
 	private static final int UPPER_MINUTE = 60;
 	/** zero */
 	private static final int ZERO = 0;
+	/** Meeting day letters in day mask order, with Monday in the lowest bit */
+	public static final String DAY_LETTERS = "MTWHFSU";
+	/** Minutes in a day */
+	public static final int MINUTES_PER_DAY = UPPER_HOUR * UPPER_MINUTE;
 	/** Course's title. */
 	private String title;
 	/** Course's meeting days */
 	private String meetingDays;
+	/** Course's meeting days as a day mask, 0 for arranged */
+	private int meetingDaysMask;
 	/** Course's starting time */
 	private int startTime;
 	/** Course's ending time */
 	private int endTime;
+	/** Course's starting time as minutes after midnight */
+	private int startMinute;
+	/** Course's ending time as minutes after midnight */
+	private int endMinute;
 
 	/** 
 	 * Constructor for the Activity class
@@ -49,13 +61,22 @@ public abstract class Activity implements Conflict {
 	public void setTitle(String title) {
 		
 		//Throw an exception if title is null or an empty string
-		if (title == null || "".equals(title)) {
+		if (!isValidTitle(title)) {
 			throw new IllegalArgumentException ("Invalid title.");
 		}
 		
 		this.title = title;
 		
 	}
+	
+	/**
+	 * Checks that a title is not null or empty
+	 * @param title the title to check
+	 * @return true if setTitle() would accept the title
+	 */
+	protected static boolean isValidTitle(String title) {
+		return title != null && !"".equals(title);
+	}
 
 	/**
 	 * Returns the Course's meeting days.
@@ -65,6 +86,15 @@ public abstract class Activity implements Conflict {
 		return meetingDays;
 	}
 
+	/**
+	 * Returns the Course's meeting days as a day mask with one bit for each day, in
+	 * DAY_LETTERS order. Arranged activities have no meeting days, so their mask is 0.
+	 * @return the meeting days mask of the course
+	 */
+	public int getMeetingDaysMask() {
+		return meetingDaysMask;
+	}
+
 	/**
 	 * Returns the Course's start time.
 	 * @return the startTime of the course
@@ -81,6 +111,67 @@ public abstract class Activity implements Conflict {
 		return endTime;
 	}
 
+	/**
+	 * Returns the Course's start time as minutes after midnight.
+	 * @return the start minute of the course
+	 */
+	public int getStartMinute() {
+		return startMinute;
+	}
+
+	/**
+	 * Returns the Course's end time as minutes after midnight.
+	 * @return the end minute of the course
+	 */
+	public int getEndMinute() {
+		return endMinute;
+	}
+
+	/**
+	 * Returns the number of minutes in one meeting of the Course, 0 for arranged.
+	 * @return the length of each meeting in minutes
+	 */
+	public int getDurationMinutes() {
+		return endMinute - startMinute;
+	}
+
+	/**
+	 * Returns the number of minutes the Course meets each week, 0 for arranged.
+	 * @return the weekly meeting time in minutes
+	 */
+	public int getWeeklyMinutes() {
+		return getDurationMinutes() * Integer.bitCount(meetingDaysMask);
+	}
+
+	/**
+	 * Returns true if this activity and the other meet on at least one of the same days
+	 * at overlapping times. Times that touch at an endpoint overlap, and arranged
+	 * activities never overlap anything since they have no meeting days.
+	 * @param other the activity to compare against
+	 * @return true if the meeting times overlap
+	 */
+	public boolean overlaps(Activity other) {
+		return overlaps(meetingDaysMask, startMinute, endMinute, other.meetingDaysMask, other.startMinute, other.endMinute);
+	}
+
+	/**
+	 * The conflict test used for every pair of meeting times. Two meetings conflict when
+	 * their day masks share a day and neither ends before the other starts. The three
+	 * comparisons are combined without short circuiting, so the test has no branches.
+	 * Times may be minutes after midnight or military times, as long as all four use the
+	 * same form.
+	 * @param daysMask the day mask of one meeting
+	 * @param start the start time of one meeting
+	 * @param end the end time of one meeting
+	 * @param otherDaysMask the day mask of the other meeting
+	 * @param otherStart the start time of the other meeting
+	 * @param otherEnd the end time of the other meeting
+	 * @return true if the meetings overlap
+	 */
+	public static boolean overlaps(int daysMask, int start, int end, int otherDaysMask, int otherStart, int otherEnd) {
+		return ((daysMask & otherDaysMask) != 0) & (start <= otherEnd) & (otherStart <= end);
+	}
+
 	/**
 	 * Sets the days and time in which the course meets. 
 	 * @param meetingDays the meeting days to set
@@ -89,76 +180,60 @@ public abstract class Activity implements Conflict {
 	 * @throws IllegalArgumentException if meetingDays is null
 	 * @throws IllegalArgumentException if meeting days is A and start and end time is not zero
 	 * @throws IllegalArgumentException if any letters differ from weekdays 
-	 * @throws IllegalArgumentException if any weekday counter is more than one
+	 * @throws IllegalArgumentException if any weekday is listed more than once
 	 * @throws IllegalArgumentException if start time not between 0 and 23 for hours or 0 and 59 for minutes, inclusive
 	 * @throws IllegalArgumentException if end time not between 0 and 23 for hours or 0 and 59 for minutes, inclusive
 	 * @throws IllegalArgumentException if ending time is less than starting time
 	 */
 	public void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
 		
-		//Throw exception if meetingDays is null 
-		if (meetingDays == null || "".equals(meetingDays)) {
+		//Throw exception if the meeting days and times break any of the rules
+		if (!isValidMeetingDaysAndTime(meetingDays, startTime, endTime)) {
 			throw new IllegalArgumentException("Invalid meeting days and times.");
 		}
 		
-		//Throw exception if meeting days is A and start and end time is not zero
+		//Set up the parameters
+		this.meetingDays = meetingDays;
+		this.meetingDaysMask = toDayMask(meetingDays);
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.startMinute = toMinuteOfDay(startTime);
+		this.endMinute = toMinuteOfDay(endTime);
+		
+	}
+	
+	/**
+	 * Checks the meeting days and times against the rules enforced by
+	 * setMeetingDaysAndTime() without throwing an exception.
+	 * @param meetingDays the meeting days to check
+	 * @param startTime the start time to check
+	 * @param endTime the end time to check
+	 * @return true if setMeetingDaysAndTime() would accept the values
+	 */
+	protected static boolean isValidMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
+		
+		//Invalid if meetingDays is null 
+		if (meetingDays == null || "".equals(meetingDays)) {
+			return false;
+		}
+		
+		//Invalid if meeting days is A and start and end time is not zero
 		if ("A".equals(meetingDays)) {
 			if (startTime != 0 || endTime != 0) {
-				throw new IllegalArgumentException("Invalid meeting days and times.");
+				return false;
 			}
-			
-			//set the parameters
-			this.meetingDays = meetingDays;
-			this.startTime = 0;
-			this.endTime = 0;
 		}
 		else {
 			
-			//counters for each weekday
-			int monCount = 0;
-			int tuesCount = 0;
-			int wedCount = 0;
-			int thurCount = 0;
-			int friCount = 0;
-			int satCount = 0;
-			int sunCount = 0;
-		
-			//iterate through each character in meeting days and increase weekday counter
-			// throw exception if any letters differ from weekdays 
+			//iterate through each character in meeting days and set the weekday's bit
+			// invalid if any letters differ from weekdays or a weekday's bit is already set
+			int mask = 0;
 			for (int i = 0; i < meetingDays.length(); i++) {
-				char day = meetingDays.charAt(i);
-				
-				switch(day) {
-				
-				case 'M':
-					monCount++;
-					break;
-				case 'T':
-					tuesCount++;
-					break;
-				case 'W':
-					wedCount++;
-					break;
-				case 'H':
-					thurCount++;
-					break;
-				case 'F':
-					friCount++;
-					break;
-				case 'S':
-					satCount++;
-					break;
-				case 'U' :
-					sunCount++;
-					break;
-				default:
-					throw new IllegalArgumentException("Invalid meeting days and times.");
+				int day = DAY_LETTERS.indexOf(meetingDays.charAt(i));
+				if (day < 0 || (mask & (1 << day)) != 0) {
+					return false;
 				}
-			}
-			
-			// Throw exception if any weekday counter is more than one
-			if (monCount > 1 || tuesCount > 1 || wedCount > 1 || thurCount > 1 || friCount > 1 || satCount > 1 || sunCount > 1) {
-				throw new IllegalArgumentException ("Invalid meeting days and times.");
+				mask |= 1 << day;
 			}
 			
 			// Convert military to standard time
@@ -169,39 +244,89 @@ public abstract class Activity implements Conflict {
 			
 			//not between 0 and 23 for hours or 0 and 59 for minutes, inclusive
 			if (startHour <= ZERO || startHour >= UPPER_HOUR || startMin < ZERO || startMin >= UPPER_MINUTE) {
-				throw new IllegalArgumentException ("Invalid meeting days and times.");
+				return false;
 			}
 			
 			//not between 0 and 23 for hours or 0 and 59 for minutes, inclusive
 			if (endHour <= ZERO || endHour >= UPPER_HOUR || endMin < ZERO || endMin >= UPPER_MINUTE) {
-				throw new IllegalArgumentException ("Invalid meeting days and times.");
+				return false;
 			}
 			
-			//Throw exception if ending time is less than starting time
+			//Invalid if ending time is less than starting time
 			if (endHour <= startHour) {
-				throw new IllegalArgumentException ("Invalid meeting days and times.");
+				return false;
 			}
 			
 		}
 		
-		
-		//Set up the parameters
-		this.meetingDays = meetingDays;
-		this.startTime = startTime;
-		this.endTime = endTime;
-		
+		return true;
 	}
 
 	/**
-	 * Helper method to convert military time into standard time
+	 * Converts a military time into minutes after midnight
 	 * @param time the time in military format
+	 * @return the minutes after midnight
+	 */
+	public static int toMinuteOfDay(int time) {
+		return time / 100 * UPPER_MINUTE + time % 100;
+	}
+
+	/**
+	 * Returns the minute of the week for a minute of the given day, counting from
+	 * midnight at the start of Monday
+	 * @param day the day's position in DAY_LETTERS
+	 * @param minuteOfDay the minutes after midnight
+	 * @return the minute of the week
+	 */
+	public static int toMinuteOfWeek(int day, int minuteOfDay) {
+		return day * MINUTES_PER_DAY + minuteOfDay;
+	}
+
+	/**
+	 * Converts meeting days into a day mask with one bit for each day, in DAY_LETTERS
+	 * order. Letters that are not days, such as the A for arranged, set no bits.
+	 * @param meetingDays the meeting days string
+	 * @return the meeting days mask
+	 */
+	public static int toDayMask(String meetingDays) {
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = DAY_LETTERS.indexOf(meetingDays.charAt(i));
+			if (day >= 0) {
+				mask |= 1 << day;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Converts a day mask back into a meeting days string in DAY_LETTERS order
+	 * @param mask the meeting days mask
+	 * @return the meeting days string, or "A" for an empty mask
+	 */
+	public static String fromDayMask(int mask) {
+		if (mask == 0) {
+			return "A";
+		}
+		StringBuilder days = new StringBuilder(DAY_LETTERS.length());
+		for (int i = 0; i < DAY_LETTERS.length(); i++) {
+			if ((mask & (1 << i)) != 0) {
+				days.append(DAY_LETTERS.charAt(i));
+			}
+		}
+		return days.toString();
+	}
+
+	/**
+	 * Helper method to convert minutes after midnight into standard time
+	 * @param minuteOfDay the minutes after midnight
 	 * @return the time in standard format
 	 */
-	private String getTimeString(int time) {
+	private static String getTimeString(int minuteOfDay) {
 		
-		//Convert military time to standard time
-		int hours = time / 100;
-		int minutes = time % 100;
+		//Split the minutes after midnight into hours and minutes
+		int hours = minuteOfDay / UPPER_MINUTE;
+		int minutes = minuteOfDay % UPPER_MINUTE;
 		
 		//Initialize string to hold AM or PM
 		String ampm;
@@ -238,57 +363,56 @@ public abstract class Activity implements Conflict {
 
 	/**
 	 * Checks if there exists any conflict in overlapping times between this activity 
-	 * and the possibly conflicting activity
+	 * and the possibly conflicting activity, using the same test as overlaps()
 	 * @param possibleConflictingActivity the activity that might cause a timing conflict
-	 * @throws ConflictException if end time of this event is equal to start time of the possibly conflicting activity and vice versa
-	 * @throws ConflictException if at least one meeting day is the same and times are the same throw an exception
+	 * @throws ConflictException if the activities meet on at least one of the same days
+	 * and their times overlap, including times that touch at an endpoint
 	 */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
 		
-			// throw exception if end time of this event is equal to start time of the possibly conflicting activity and vice versa
-			if (endTime == possibleConflictingActivity.startTime || startTime == possibleConflictingActivity.endTime) {
-				throw new ConflictException ();
+			//throw exception if the meeting times overlap on a shared day
+			if (overlaps(possibleConflictingActivity)) {
+				throw new ConflictException();
 			}
-			
-			String[] thisMeetingDays = meetingDays.split("");
-			
-			//Iterate through the meeting days of this activity 
-			for (String day : thisMeetingDays) {
-				day = day.trim();
-					//if at least one meeting day is the same and times are the same throw an exception
-				        if (possibleConflictingActivity.meetingDays.contains(day) 
-				        		&& endTime == possibleConflictingActivity.endTime 
-				        		&& startTime == possibleConflictingActivity.startTime) {
-				                throw new ConflictException();
-				            }
-				        }
-				    }
+		}
 
 	/**
 	 * Returns a string with the meeting days and times 
 	 * @return the meeting days and times of the course
 	 */
 	public String getMeetingString() {
-		
-		//Initialize variable to hold start and end time
-		String starting = getTimeString(startTime);
-		String ending = getTimeString(endTime);
-		String meeting;
+		return formatMeetingString(meetingDays, startMinute, endMinute);
+	}
+	
+	/**
+	 * Returns a string with the given meeting days and times, formatted the same way as
+	 * getMeetingString(), without needing an Activity
+	 * @param meetingDays the meeting days
+	 * @param startTime the start time in military format
+	 * @param endTime the end time in military format
+	 * @return the meeting days and times
+	 */
+	public static String getMeetingString(String meetingDays, int startTime, int endTime) {
+		return formatMeetingString(meetingDays, toMinuteOfDay(startTime), toMinuteOfDay(endTime));
+	}
+	
+	/**
+	 * Formats meeting days and times given as minutes after midnight
+	 * @param meetingDays the meeting days
+	 * @param startMinute the start time as minutes after midnight
+	 * @param endMinute the end time as minutes after midnight
+	 * @return the meeting days and times
+	 */
+	private static String formatMeetingString(String meetingDays, int startMinute, int endMinute) {
 		
 		// if meeting days is A meeting string is "Arranged"
 		if ("A".equals(meetingDays)) {
-			meeting = "Arranged";
-		
-			
+			return "Arranged";
 		}
 		
 		//Otherwise return meeting string with days and start and end time.
-		else {
-			meeting = meetingDays + " " +  starting + "-" + ending;
-		}
-		
-		return meeting; 
+		return meetingDays + " " + getTimeString(startMinute) + "-" + getTimeString(endMinute);
 	}
 	
 	/** 
@@ -309,6 +433,51 @@ public abstract class Activity implements Conflict {
 	 * @return true if the activity is a duplicate
 	 */
 	public abstract boolean isDuplicate(Activity activity);
+	
+	/**
+	 * Appends the comma separated value record of the activity to the given output
+	 * without building intermediate Strings.
+	 * @param out the output to append the record to
+	 * @throws IOException if the output cannot be written
+	 */
+	public abstract void appendRecord(Appendable out) throws IOException;
+	
+	/**
+	 * Appends the decimal digits of a non-negative int to the given output one
+	 * character at a time
+	 * @param out the output to append to
+	 * @param value the value to append
+	 * @throws IOException if the output cannot be written
+	 */
+	protected static void appendInt(Appendable out, int value) throws IOException {
+		
+		//Find the place value of the leading digit
+		int place = 1;
+		while (place <= value / 10) {
+			place *= 10;
+		}
+		
+		//Append each digit from the leading digit down
+		while (place > 0) {
+			out.append((char) ('0' + value / place % 10));
+			place /= 10;
+		}
+	}
+	
+	/**
+	 * Returns the comma separated value record of the activity
+	 * @return String representation of the activity
+	 */
+	@Override
+	public String toString() {
+		StringBuilder record = new StringBuilder();
+		try {
+			appendRecord(record);
+		} catch (IOException e) {
+			//A StringBuilder never throws an IOException
+		}
+		return record.toString();
+	}
 
 	/**
 	 * Returns a hash code value for the activity
@@ -3,6 +3,8 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.io.IOException;
+
 /**
  * System provides a way for a student to determine which course schedule may be best 
  * for them in an upcoming semester.
@@ -26,6 +28,8 @@ public class Course extends Activity {
 	private static final int MAX_CREDITS = 5; 
 	/** Minimum amount of credits */
 	private static final int MIN_CREDITS = 1; 
+	/** Characters allowed in a course's meeting days */
+	private static final String COURSE_DAYS = "MTWHFA";
 	/** Course's name. */
 	private String name;
 	/** Course's section. */
@@ -69,6 +73,45 @@ public class Course extends Activity {
 	        setInstructorId(instructorId);
 	    }
 
+	/**
+	 * Checks whether a Course could be constructed from the given values without
+	 * constructing it or throwing an exception. The checks run in the same order as
+	 * the constructor runs them, so the message returned is the message the
+	 * constructor would have thrown.
+	 * @param name name of Course
+	 * @param title title of Course
+	 * @param section section of Course
+	 * @param credits credit hours for Course
+	 * @param instructorId instructor's unity id
+	 * @param meetingDays meeting days for Course as a series of chars
+	 * @param startTime start time for the Course.
+	 * @param endTime end time for the Course.
+	 * @return the reason the values are invalid, or null if they are valid
+	 */
+	public static String validate(String name, String title, String section, int credits, String instructorId,
+			String meetingDays, int startTime, int endTime) {
+		if (!isValidTitle(title)) {
+			return "Invalid title.";
+		}
+		if (meetingDays == null || !isValidCourseMeetingDaysAndTime(meetingDays, startTime, endTime)
+				|| !isValidMeetingDaysAndTime(meetingDays, startTime, endTime)) {
+			return "Invalid meeting days and times.";
+		}
+		if (!isValidName(name)) {
+			return "Invalid course name.";
+		}
+		if (!isValidSection(section)) {
+			return "Invalid section.";
+		}
+		if (!isValidCredits(credits)) {
+			return "Invalid credits.";
+		}
+		if (!isValidInstructorId(instructorId)) {
+			return "Invalid instructor id.";
+		}
+		return null;
+	}
+
 	/**
 	 * Return the Course's name.
 	 * @return the name of the course
@@ -90,15 +133,29 @@ public class Course extends Activity {
 	 * @throws IllegalArgumentException if the number of digits is incorrect
 	 */
 	private void setName(String name) {
-		//Throw exception if the name is null
-		if(name == null) {
+		//Throw exception if the name does not follow the pattern L[LLL] NNN
+		if (!isValidName(name)) {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 		
-		//Throw exception if the name is an empty string 
-		//Throw exception if the name contains less than 5 characters or greater than 8 characters
+		this.name = name;
+	}
+
+	/**
+	 * Checks that a name follows the pattern L[LLL] NNN
+	 * @param name the name to check
+	 * @return true if setName() would accept the name
+	 */
+	private static boolean isValidName(String name) {
+		//Invalid if the name is null
+		if(name == null) {
+			return false;
+		}
+		
+		//Invalid if the name is an empty string 
+		//Invalid if the name contains less than 5 characters or greater than 8 characters
 		if (name.length() < MIN_NAME_LENGTH || name.length() > MAX_NAME_LENGTH) {
-			throw new IllegalArgumentException("Invalid course name.");
+			return false;
 		}
 		
 		//Check for pattern of L[LLL] NNN
@@ -117,7 +174,7 @@ public class Course extends Activity {
 					findSpace = true;
 				}
 				else {
-					throw new IllegalArgumentException ("Invalid course name.");
+					return false;
 				}
 				
 			}
@@ -127,22 +184,22 @@ public class Course extends Activity {
 				digitCount++;
 			}
 			else {
-				throw new IllegalArgumentException ("Invalid course name.");
+				return false;
 				}
 			}
 		}
 		
 		//Check that number of letter is correct
 		if (letterCount < MIN_LETTER_COUNT || letterCount > MAX_LETTER_COUNT) {
-			throw new IllegalArgumentException ("Invalid course name.");
+			return false;
 		}
 		
 		//Check that the number of digits is correct
 		if (digitCount != DIGIT_COUNT) {
-			throw new IllegalArgumentException ("Invalid course name.");
+			return false;
 		}
 		
-		this.name = name;
+		return true;
 	}
 
 	/**
@@ -162,24 +219,38 @@ public class Course extends Activity {
 	 */
 	public void setSection(String section) { 
 		
-		//Throw an exception if section is null
+		//Throw an exception if section is not three digit characters
+		if (!isValidSection(section)) {
+			throw new IllegalArgumentException("Invalid section.");
+		}
+		
+		this.section = section;
+	}
+
+	/**
+	 * Checks that a section is exactly three non-letter characters
+	 * @param section the section to check
+	 * @return true if setSection() would accept the section
+	 */
+	private static boolean isValidSection(String section) {
+		//Invalid if section is null
 		if (section == null) {
-			throw new IllegalArgumentException ("Invalid section.");
+			return false;
 		}
-		//Throw an exception if section is not three characters
+		//Invalid if section is not three characters
 		if (section.length() != SECTION_LENGTH) {
-			throw new IllegalArgumentException ("Invalid section.");
+			return false;
 		}
-		//Throw an exception if any of the 3 characters are not numbers
+		//Invalid if any of the 3 characters are not numbers
 		for (int i = 0; i < section.length(); i++) {
 			char character = section.charAt(i);
 			
 			if (Character.isLetter(character)) {
-				throw new IllegalArgumentException ("Invalid section.");
+				return false;
 			}
 		}
 		
-		this.section = section;
+		return true;
 	}
 
 	/**
@@ -197,12 +268,27 @@ public class Course extends Activity {
 	 */
 	public void setCredits(int credits) {
 		// Throw exception if credits is less than 1 or greater than 5
-		if (credits < MIN_CREDITS || credits > MAX_CREDITS) {
+		if (!isValidCredits(credits)) {
 			throw new IllegalArgumentException("Invalid credits.");
 		}
+		
 		this.credits = credits;
 	}
 
+	/**
+	 * Checks that credits are between 1 and 5, inclusive
+	 * @param credits the credits to check
+	 * @return true if setCredits() would accept the credits
+	 */
+	private static boolean isValidCredits(int credits) {
+		// Invalid if credits is less than 1 or greater than 5
+		if (credits < MIN_CREDITS || credits > MAX_CREDITS) {
+			return false;
+		}
+		
+		return true;
+	}
+
 	/**
 	 * Returns the Instructor's unity ID
 	 * @return the instructorId who teaches the course
@@ -218,13 +304,27 @@ public class Course extends Activity {
 	 */
 	public void setInstructorId(String instructorId) {
 		//Throw exception if the Instuctor's ID is null or empty
-		if (instructorId == null || "".equals(instructorId)) {
-			throw new IllegalArgumentException ("Invalid instructor id.");
+		if (!isValidInstructorId(instructorId)) {
+			throw new IllegalArgumentException("Invalid instructor id.");
 		}
 		
 		this.instructorId = instructorId;
 	}
 
+	/**
+	 * Checks that an instructor id is not null or empty
+	 * @param instructorId the instructor id to check
+	 * @return true if setInstructorId() would accept the instructor id
+	 */
+	private static boolean isValidInstructorId(String instructorId) {
+		//Invalid if the Instuctor's ID is null or empty
+		if (instructorId == null || "".equals(instructorId)) {
+			return false;
+		}
+		
+		return true;
+	}
+
 	/**
 	 * Sets the Meeting days and times for the course 
 	 * @param meetingDays the meeting days for the course
@@ -240,38 +340,60 @@ public class Course extends Activity {
 	@Override
 	public void setMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
 		
+		//Throw exception if the meeting days and times break any of the course rules
+		if (!isValidCourseMeetingDaysAndTime(meetingDays, startTime, endTime)) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+		
+		//If all conditions are met, set the meeting days and times
+		super.setMeetingDaysAndTime(meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Checks the meeting days and times against the course specific rules in
+	 * setMeetingDaysAndTime(). The general Activity rules are checked separately.
+	 * @param meetingDays the meeting days to check
+	 * @param startTime the start time to check
+	 * @param endTime the end time to check
+	 * @return true if the values meet the course specific rules
+	 */
+	private static boolean isValidCourseMeetingDaysAndTime(String meetingDays, int startTime, int endTime) {
 		//meeting consists of any char other than M,T,W,H,F or A
-		if (!meetingDays.matches("[MTWHFA]*") || hasDuplicate(meetingDays)) {
-			throw new IllegalArgumentException ("Invalid meeting days and times.");	
+		for (int i = 0; i < meetingDays.length(); i++) {
+			if (COURSE_DAYS.indexOf(meetingDays.charAt(i)) < 0) {
+				return false;
+			}
+		}
+		if (hasDuplicate(meetingDays)) {
+			return false;
 		} 
 		
 		//If A is the meeting days list, it must be the only character
 		if (meetingDays.contains("A") && meetingDays.length() > 1) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+			return false;
 		}
 		
 		//The start time is not between 0000 and 2359
 		if (startTime < 0 || startTime > 2359) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+			return false;
 		}
 		
 		//the end time is not between 0000 and 2359
 		if (endTime < 0 || endTime > 2359) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+			return false;
 		}
 		
 		//The end time is less than the start time
 		if (endTime < startTime) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+			return false;
 		}
 		
 		//A start/end time is listed when meeting days is A
 		if ( "A".equals(meetingDays) && (startTime != 0 || endTime != 0)) {
-			throw new IllegalArgumentException("Invalid meeting days and times.");
+			return false;
 		}
 		
-		//If all conditions are met, set the meeting days and times
-		super.setMeetingDaysAndTime(meetingDays, startTime, endTime);
+		return true;
 	}
 
 	/**
@@ -279,7 +401,7 @@ public class Course extends Activity {
 	 * @param str string to be iterated through
 	 * @return true if there is a duplicate
 	 */
-	private boolean hasDuplicate(String str) {
+	private static boolean hasDuplicate(String str) {
 		for (int i = 0; i < str.length(); i++) {
 			char c = str.charAt(i);
 			if(str.lastIndexOf(c) != i) {
@@ -291,15 +413,22 @@ public class Course extends Activity {
 	}
 
 	/**
-	 * Returns a comma separated value String of all Course fields.
-	 * @return String representation of Course
+	 * Appends a comma separated value record of all Course fields to the given output.
+	 * Arranged courses leave off the start and end times.
+	 * @param out the output to append the record to
+	 * @throws IOException if the output cannot be written
 	 */
 	@Override
-	public String toString() {
-	    if ("A".equals(getMeetingDays())) {
-	        return name + "," + getTitle() + "," + section + "," + credits + "," + instructorId + "," + getMeetingDays();
-	    }
-	    return name + "," + getTitle() + "," + section + "," + credits + "," + instructorId + "," + getMeetingDays() + "," + getStartTime() + "," + getEndTime(); 
+	public void appendRecord(Appendable out) throws IOException {
+		out.append(name).append(',').append(getTitle()).append(',').append(section).append(',');
+		appendInt(out, credits);
+		out.append(',').append(instructorId).append(',').append(getMeetingDays());
+		if (!"A".equals(getMeetingDays())) {
+			out.append(',');
+			appendInt(out, getStartTime());
+			out.append(',');
+			appendInt(out, getEndTime());
+		}
 	}
 
 	/**
@@ -0,0 +1,400 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Read-only course catalog stored column by column in parallel primitive arrays instead
+ * of as a list of Course objects. Credits and times are int arrays and meeting days are
+ * a byte array of day masks. Names, titles, sections, instructor ids, and meeting day
+ * strings are stored once each in a shared char pool, and every course refers to them by
+ * string id, so a title repeated across many sections costs one int per section. The
+ * getters build a String only when they are called, for display; lookups and
+ * comparisons such as nameEquals() and getTitleId() read the pool without building one.
+ * Courses are found by name and section through an open addressing hash table over the
+ * same arrays. A Course object is only created when a caller asks for one with
+ * getCourse(), since Course can be changed by its caller, and the display columns can be
+ * read without creating one at all. Every field is final and never changes after the
+ * constructor, so a catalog can be shared between threads.
+ *
+ * @author Daniela Deleon
+ */
+public class CourseCatalog {
+
+	/** Smallest capacity of the growing arrays while the catalog is built */
+	private static final int INITIAL_CAPACITY = 16;
+	/** Number of courses in the catalog */
+	private final int size;
+	/** Characters of every distinct string, one after another */
+	private final char[] chars;
+	/** Start of each distinct string in chars, plus the end of the last string */
+	private final int[] stringStarts;
+	/** String id of each course's name */
+	private final int[] names;
+	/** String id of each course's title */
+	private final int[] titles;
+	/** String id of each course's section */
+	private final int[] sections;
+	/** String id of each course's instructor id */
+	private final int[] instructorIds;
+	/** String id of each course's meeting days */
+	private final int[] meetingDays;
+	/** Each course's credits */
+	private final int[] credits;
+	/** Each course's start time */
+	private final int[] startTimes;
+	/** Each course's end time */
+	private final int[] endTimes;
+	/** Each course's meeting days as an Activity day mask */
+	private final byte[] dayMasks;
+	/** Hash table of course positions plus one by name and section, 0 for an empty slot */
+	private final int[] table;
+
+	/**
+	 * Builds a catalog from the given courses, in order. The Course objects are not kept,
+	 * so a reader can stream courses in without the whole list ever being in memory.
+	 * @param courses the courses to store
+	 */
+	public CourseCatalog(Iterator<Course> courses) {
+		//Fill growing local arrays, then store them trimmed in the final fields
+		int capacity = INITIAL_CAPACITY;
+		int count = 0;
+		int[] names = new int[capacity];
+		int[] titles = new int[capacity];
+		int[] sections = new int[capacity];
+		int[] instructorIds = new int[capacity];
+		int[] meetingDays = new int[capacity];
+		int[] credits = new int[capacity];
+		int[] startTimes = new int[capacity];
+		int[] endTimes = new int[capacity];
+		byte[] dayMasks = new byte[capacity];
+
+		//Give each distinct string one id while building
+		HashMap<String, Integer> ids = new HashMap<String, Integer>();
+		StringBuilder pool = new StringBuilder();
+		int[] starts = new int[INITIAL_CAPACITY];
+
+		while (courses.hasNext()) {
+			Course c = courses.next();
+			if (count == capacity) {
+				capacity *= 2;
+				names = Arrays.copyOf(names, capacity);
+				titles = Arrays.copyOf(titles, capacity);
+				sections = Arrays.copyOf(sections, capacity);
+				instructorIds = Arrays.copyOf(instructorIds, capacity);
+				meetingDays = Arrays.copyOf(meetingDays, capacity);
+				credits = Arrays.copyOf(credits, capacity);
+				startTimes = Arrays.copyOf(startTimes, capacity);
+				endTimes = Arrays.copyOf(endTimes, capacity);
+				dayMasks = Arrays.copyOf(dayMasks, capacity);
+			}
+
+			String[] values = {c.getName(), c.getTitle(), c.getSection(), c.getInstructorId(), c.getMeetingDays()};
+			int[] valueIds = new int[values.length];
+			for (int i = 0; i < values.length; i++) {
+				Integer id = ids.get(values[i]);
+				if (id == null) {
+					id = ids.size();
+					ids.put(values[i], id);
+					if (id + 1 >= starts.length) {
+						starts = Arrays.copyOf(starts, starts.length * 2);
+					}
+					starts[id] = pool.length();
+					pool.append(values[i]);
+					starts[id + 1] = pool.length();
+				}
+				valueIds[i] = id;
+			}
+
+			names[count] = valueIds[0];
+			titles[count] = valueIds[1];
+			sections[count] = valueIds[2];
+			instructorIds[count] = valueIds[3];
+			meetingDays[count] = valueIds[4];
+			credits[count] = c.getCredits();
+			startTimes[count] = c.getStartTime();
+			endTimes[count] = c.getEndTime();
+			dayMasks[count] = (byte) c.getMeetingDaysMask();
+			count++;
+		}
+
+		size = count;
+		this.names = Arrays.copyOf(names, size);
+		this.titles = Arrays.copyOf(titles, size);
+		this.sections = Arrays.copyOf(sections, size);
+		this.instructorIds = Arrays.copyOf(instructorIds, size);
+		this.meetingDays = Arrays.copyOf(meetingDays, size);
+		this.credits = Arrays.copyOf(credits, size);
+		this.startTimes = Arrays.copyOf(startTimes, size);
+		this.endTimes = Arrays.copyOf(endTimes, size);
+		this.dayMasks = Arrays.copyOf(dayMasks, size);
+		stringStarts = Arrays.copyOf(starts, ids.size() + 1);
+		chars = new char[pool.length()];
+		pool.getChars(0, pool.length(), chars, 0);
+
+		table = buildTable();
+	}
+
+	/**
+	 * Builds the name and section hash table, kept at most two thirds full. If two
+	 * courses share a name and section, the first one is kept.
+	 * @return the hash table
+	 */
+	private int[] buildTable() {
+		int tableSize = Integer.highestOneBit(size * 3 / 2 + 1) * 2;
+		int[] table = new int[tableSize];
+		for (int i = 0; i < size; i++) {
+			int slot = hash(names[i], sections[i]) & (tableSize - 1);
+			boolean duplicate = false;
+			while (table[slot] != 0 && !duplicate) {
+				int other = table[slot] - 1;
+				duplicate = names[other] == names[i] && sections[other] == sections[i];
+				slot = (slot + 1) & (tableSize - 1);
+			}
+			if (!duplicate) {
+				table[slot] = i + 1;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the number of courses in the catalog
+	 * @return the number of courses
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the catalog has no courses
+	 * @return true if the catalog is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the position of the course with the given name and section
+	 * @param name the name of the course
+	 * @param section the section of the course
+	 * @return the position of the course, or -1 if it is not in the catalog
+	 */
+	public int indexOf(String name, String section) {
+		if (name == null || section == null) {
+			return -1;
+		}
+		int h = 1;
+		for (int i = 0; i < name.length(); i++) {
+			h = 31 * h + name.charAt(i);
+		}
+		for (int i = 0; i < section.length(); i++) {
+			h = 31 * h + section.charAt(i);
+		}
+
+		int slot = spread(h) & (table.length - 1);
+		while (table[slot] != 0) {
+			int i = table[slot] - 1;
+			if (matches(names[i], name) && matches(sections[i], section)) {
+				return i;
+			}
+			slot = (slot + 1) & (table.length - 1);
+		}
+		return -1;
+	}
+
+	/**
+	 * Creates a Course object for the course at the given position. A new Course is
+	 * returned each time so that changing it cannot change the catalog.
+	 * @param index the position of the course
+	 * @return a new Course with the stored values
+	 */
+	public Course getCourse(int index) {
+		return new Course(getName(index), getTitle(index), getSection(index), credits[index],
+				getInstructorId(index), getMeetingDays(index), startTimes[index], endTimes[index]);
+	}
+
+	/**
+	 * Creates a Course object for the course with the given name and section
+	 * @param name the name of the course
+	 * @param section the section of the course
+	 * @return a new Course with the stored values, or null if it is not in the catalog
+	 */
+	public Course getCourse(String name, String section) {
+		int index = indexOf(name, section);
+		return index < 0 ? null : getCourse(index);
+	}
+
+	/**
+	 * Returns the name of the course at the given position
+	 * @param index the position of the course
+	 * @return the course name
+	 */
+	public String getName(int index) {
+		return getString(names[index]);
+	}
+
+	/**
+	 * Returns true if the course at the given position has the given name, without
+	 * building a String for the stored name
+	 * @param index the position of the course
+	 * @param name the name to compare
+	 * @return true if the course name equals name
+	 */
+	public boolean nameEquals(int index, String name) {
+		return name != null && matches(names[index], name);
+	}
+
+	/**
+	 * Returns the title of the course at the given position
+	 * @param index the position of the course
+	 * @return the course title
+	 */
+	public String getTitle(int index) {
+		return getString(titles[index]);
+	}
+
+	/**
+	 * Returns the string id of the title of the course at the given position. Courses
+	 * with the same title have the same title id, so titles can be compared by id.
+	 * @param index the position of the course
+	 * @return the title id
+	 */
+	public int getTitleId(int index) {
+		return titles[index];
+	}
+
+	/**
+	 * Returns the section of the course at the given position
+	 * @param index the position of the course
+	 * @return the course section
+	 */
+	public String getSection(int index) {
+		return getString(sections[index]);
+	}
+
+	/**
+	 * Returns the instructor id of the course at the given position
+	 * @param index the position of the course
+	 * @return the course instructor id
+	 */
+	public String getInstructorId(int index) {
+		return getString(instructorIds[index]);
+	}
+
+	/**
+	 * Returns the meeting days of the course at the given position
+	 * @param index the position of the course
+	 * @return the course meeting days
+	 */
+	public String getMeetingDays(int index) {
+		return getString(meetingDays[index]);
+	}
+
+	/**
+	 * Returns the credits of the course at the given position
+	 * @param index the position of the course
+	 * @return the course credits
+	 */
+	public int getCredits(int index) {
+		return credits[index];
+	}
+
+	/**
+	 * Returns the start time of the course at the given position
+	 * @param index the position of the course
+	 * @return the course start time
+	 */
+	public int getStartTime(int index) {
+		return startTimes[index];
+	}
+
+	/**
+	 * Returns the end time of the course at the given position
+	 * @param index the position of the course
+	 * @return the course end time
+	 */
+	public int getEndTime(int index) {
+		return endTimes[index];
+	}
+
+	/**
+	 * Returns the meeting days of the course at the given position as an Activity day mask
+	 * @param index the position of the course
+	 * @return the course meeting days mask
+	 */
+	public int getMeetingDaysMask(int index) {
+		return dayMasks[index];
+	}
+
+	/**
+	 * Returns the same columns as Course.getShortDisplayArray() for the course at the
+	 * given position, without creating a Course
+	 * @param index the position of the course
+	 * @return an array of length 4
+	 */
+	public String[] getShortDisplayArray(int index) {
+		String[] shortDisplayArray = {getName(index), getSection(index), getTitle(index),
+				Activity.getMeetingString(getMeetingDays(index), startTimes[index], endTimes[index])};
+		return shortDisplayArray;
+	}
+
+	/**
+	 * Returns the stored string with the given id
+	 * @param id the string id
+	 * @return the string
+	 */
+	private String getString(int id) {
+		return new String(chars, stringStarts[id], stringStarts[id + 1] - stringStarts[id]);
+	}
+
+	/**
+	 * Returns true if the stored string with the given id equals the value
+	 * @param id the string id
+	 * @param value the value to compare
+	 * @return true if the strings are equal
+	 */
+	private boolean matches(int id, String value) {
+		int start = stringStarts[id];
+		if (stringStarts[id + 1] - start != value.length()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (chars[start + i] != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Hashes the name and section with the given string ids
+	 * @param name the string id of the name
+	 * @param section the string id of the section
+	 * @return the hash of the name followed by the section
+	 */
+	private int hash(int name, int section) {
+		int h = 1;
+		for (int i = stringStarts[name]; i < stringStarts[name + 1]; i++) {
+			h = 31 * h + chars[i];
+		}
+		for (int i = stringStarts[section]; i < stringStarts[section + 1]; i++) {
+			h = 31 * h + chars[i];
+		}
+		return spread(h);
+	}
+
+	/**
+	 * Mixes the high bits of a hash into the low bits used to pick a slot
+	 * @param h the hash
+	 * @return the spread hash
+	 */
+	private static int spread(int h) {
+		return h ^ (h >>> 16);
+	}
+
+}
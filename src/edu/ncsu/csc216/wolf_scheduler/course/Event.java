@@ -3,6 +3,8 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.io.IOException;
+
 /**
  * Event class that extends the activity class
  */
@@ -99,11 +101,17 @@ public class Event extends Activity {
 	}
 
 	/**
-	 * Returns a String representation of the event
+	 * Appends a comma separated value record of the event to the given output
+	 * @param out the output to append the record to
+	 * @throws IOException if the output cannot be written
 	 */
 	@Override
-	public String toString() {
-		return getTitle() + "," + getMeetingDays() + "," + getStartTime() + "," + getEndTime() + "," + eventDetails; 
+	public void appendRecord(Appendable out) throws IOException {
+		out.append(getTitle()).append(',').append(getMeetingDays()).append(',');
+		appendInt(out, getStartTime());
+		out.append(',');
+		appendInt(out, getEndTime());
+		out.append(',').append(eventDetails);
 	}
 
 	/**
@@ -3,33 +3,210 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.io;
 
-import java.io.File;
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
 
 /**
- * Writes activities to file.
+ * Writes activities to file and reads exported activities back.
  * @author Daniela Deleon
  */
 public class ActivityRecordIO {
 
+    /** Size of the character buffer used when writing activity records */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    /** Number of records written between progress updates */
+    private static final int PROGRESS_INTERVAL = 1000;
+
     /**
-     * Writes the given list of activities 
+     * Writes the given list of activities. The records are written to a temporary file
+     * that is moved over the target once it is complete, so a failure partway through
+     * never leaves a truncated file behind.
      * @param fileName file to save to
      * @param activities list of course to save
      * @throws IOException if the file cannot be written
      */
     public static void writeActivityRecords(String fileName, ArrayList<Activity> activities) throws IOException {
-    	PrintStream fileWriter = new PrintStream(new File(fileName));
+    	writeActivityRecords(fileName, activities, null);
+    }
+
+    /**
+     * Writes the given list of activities as UTF-8, reporting progress as records are
+     * written. The records are written to a temporary file in the same directory, flushed
+     * to disk, and then moved over the target in one step. If the export is cancelled or fails, the
+     * temporary file is deleted and the target is left as it was.
+     * @param fileName file to save to
+     * @param activities list of activities to save
+     * @param progress receives progress updates and may cancel the export, or null
+     * @throws IOException if the file name is invalid or the file cannot be written
+     * @throws CancellationException if progress cancels the export
+     */
+    public static void writeActivityRecords(String fileName, List<Activity> activities, ExportProgress progress) throws IOException {
+    	Path target;
+    	try {
+    		target = Paths.get(fileName).toAbsolutePath();
+    	} catch (InvalidPathException e) {
+    		throw new IOException("Invalid file name: " + fileName, e);
+    	}
+    	Path temp = createTempFile(target);
+    	
+    	boolean moved = false;
+    	try {
+    		FileOutputStream fileStream = new FileOutputStream(temp.toFile());
+    		BufferedWriter fileWriter = new BufferedWriter(new OutputStreamWriter(fileStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+    		try {
+    			String lineSeparator = System.lineSeparator();
+    			int total = activities.size();
+    			for (int i = 0; i < total; i++) {
+    				activities.get(i).appendRecord(fileWriter);
+    				fileWriter.append(lineSeparator);
+    				
+    				//Report progress every so often and stop if the export was cancelled
+    				if (progress != null && (i + 1) % PROGRESS_INTERVAL == 0 && !progress.recordsWritten(i + 1, total)) {
+    					throw new CancellationException("Export cancelled.");
+    				}
+    			}
+    			if (progress != null && !progress.recordsWritten(total, total)) {
+    				throw new CancellationException("Export cancelled.");
+    			}
+    			
+    			//Make sure every byte is on disk before the file replaces the target
+    			fileWriter.flush();
+    			fileStream.getFD().sync();
+    		} finally {
+    			fileWriter.close();
+    		}
+    		
+    		try {
+    			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    		} catch (AtomicMoveNotSupportedException e) {
+    			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    		}
+    		moved = true;
+    	} finally {
+    		if (!moved) {
+    			Files.deleteIfExists(temp);
+    		}
+    	}
+    }
+
+    /**
+     * Creates an empty temporary file next to the target. Files.createTempFile() would make
+     * the file readable only by its owner, and the move would keep that, so the file is
+     * created with the default permissions for a new file instead. If the target already
+     * exists, its permissions are copied, the same as writing over it in place.
+     * @param target the file the temporary file will replace
+     * @return the temporary file
+     * @throws IOException if the file cannot be created
+     */
+    private static Path createTempFile(Path target) throws IOException {
+    	while (true) {
+    		Path temp = target.resolveSibling(target.getFileName() + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+    		try {
+    			Files.createFile(temp);
+    		} catch (FileAlreadyExistsException e) {
+    			//Another export picked the same name, so try another one
+    			continue;
+    		}
+    		
+    		try {
+    			if (Files.exists(target) && Files.getFileStore(temp).supportsFileAttributeView(PosixFileAttributeView.class)) {
+    				Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+    			}
+    		} catch (IOException e) {
+    			Files.deleteIfExists(temp);
+    			throw e;
+    		}
+    		return temp;
+    	}
+    }
+
+    /**
+     * Appends the record of each activity, one per line, to the given output. Each record
+     * is written straight into the output without building a String for it first.
+     * @param out output to append the records to
+     * @param activities list of activities to append
+     * @throws IOException if the output cannot be written
+     */
+    public static void appendActivityRecords(Appendable out, ArrayList<Activity> activities) throws IOException {
+    	String lineSeparator = System.lineSeparator();
     	
     	for (Activity a : activities) {
-    		fileWriter.println(a.toString());
+    		a.appendRecord(out);
+    		out.append(lineSeparator);
+    	}
+    }
+
+    /**
+     * Reads all of the valid activities in an exported activity record file. Use an
+     * ActivityRecordReader instead to read the activities one at a time.
+     * @param fileName file to read activity records from
+     * @return a list of the valid activities, in file order
+     * @throws FileNotFoundException if the file cannot be found or read
+     * @throws IllegalArgumentException if the file cannot be read after it is opened
+     */
+    public static ArrayList<Activity> readActivityRecords(String fileName) throws FileNotFoundException {
+    	ArrayList<Activity> activities = new ArrayList<Activity>();
+    	ActivityRecordReader reader = new ActivityRecordReader(fileName);
+    	try {
+    		while (reader.hasNext()) {
+    			activities.add(reader.next());
+    		}
+    	} finally {
+    		try {
+    			reader.close();
+    		} catch (IOException e) {
+    			//Nothing more can be done with the file at this point
+    		}
+    	}
+    	return activities;
+    }
+
+    /**
+     * Parses one exported activity record. A record is read as a Course when it has the
+     * shape of one, and otherwise as an Event. Event details are the rest of the line, so
+     * they may contain commas.
+     * @param lineReader the tokenizer positioned at the start of the record
+     * @return the activity, or null if the line is neither a valid Course nor a valid Event
+     */
+    static Activity readActivity(CourseRecordIO.LineTokenizer lineReader) {
+    	String line = lineReader.rest();
+    	try {
+    		return CourseRecordIO.readCourse(lineReader.reset(line));
+    	} catch (IllegalArgumentException e) {
+    		//Not a course, so try the line as an event
     	}
     	
-    	fileWriter.close(); 
+    	try {
+    		lineReader.reset(line);
+    		String title = lineReader.next();
+    		String meetingDays = lineReader.next();
+    		int startTime = lineReader.nextInt();
+    		int endTime = lineReader.nextInt();
+    		String eventDetails = lineReader.rest();
+    		return new Event(title, meetingDays, startTime, endTime, eventDetails);
+    	} catch (IllegalArgumentException e) {
+    		//The line is invalid b/c we couldn't create an activity, skip it!
+    		return null;
+    	}
     }
 
 }
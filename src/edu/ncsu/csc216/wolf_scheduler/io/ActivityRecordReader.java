@@ -0,0 +1,98 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Reads an exported activity record file one line at a time. Each call to next() parses
+ * only the next valid record, so a whole schedule never has to be held in memory. Lines
+ * that are neither a valid Course nor a valid Event are skipped.
+ * 
+ * @author Daniela Deleon
+ */
+public class ActivityRecordReader implements Iterator<Activity>, Closeable {
+
+	/** Size of the character buffer used when reading activity records */
+	private static final int READ_BUFFER_SIZE = 1 << 16;
+	/** Reader for the activity record file */
+	private BufferedReader fileReader;
+	/** Tokenizer reused for every line in the file */
+	private CourseRecordIO.LineTokenizer lineReader;
+	/** Next valid activity in the file, or null if it has not been read yet */
+	private Activity nextActivity;
+
+	/**
+	 * Opens the given activity record file for reading as UTF-8
+	 * @param fileName file to read activity records from
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public ActivityRecordReader(String fileName) throws FileNotFoundException {
+		fileReader = new BufferedReader(new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+		lineReader = new CourseRecordIO.LineTokenizer();
+	}
+
+	/**
+	 * Returns true if there is another valid activity in the file. The file is closed
+	 * once the last line has been read.
+	 * @return true if another activity remains
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	@Override
+	public boolean hasNext() {
+		try {
+			//Read lines until one is a valid activity or the file ends
+			while (nextActivity == null && fileReader != null) {
+				String line = fileReader.readLine();
+				if (line == null) {
+					close();
+				} else {
+					nextActivity = ActivityRecordIO.readActivity(lineReader.reset(line));
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read activity records.");
+		}
+		return nextActivity != null;
+	}
+
+	/**
+	 * Returns the next valid activity in the file
+	 * @return the next activity
+	 * @throws NoSuchElementException if there are no more activities
+	 */
+	@Override
+	public Activity next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Activity activity = nextActivity;
+		nextActivity = null;
+		return activity;
+	}
+
+	/**
+	 * Closes the file. Calling close more than once has no effect.
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (fileReader != null) {
+			BufferedReader reader = fileReader;
+			fileReader = null;
+			reader.close();
+		}
+	}
+
+}
@@ -3,20 +3,41 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.io;
 
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.HashSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.io.FileInputStream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
 /**
  * Reads course records from text files. Writes a set of CourseRecords to a file.
- * 
+ *
  * @author Daniela Deleon
  */
 public class CourseRecordIO {
-	
+
+	/** Smallest part of a mapped file handed to a single parsing task */
+	private static final int MIN_CHUNK_SIZE = 1 << 18;
+	/** Number of parsing tasks created for each available worker thread */
+	private static final int CHUNKS_PER_WORKER = 4;
+
 	 /**
      * Reads course records from a file and generates a list of valid Courses.  Any invalid
      * Courses are ignored.  If the file to read cannot be found or the permissions are incorrect
@@ -24,100 +45,530 @@ public class CourseRecordIO {
      * @param fileName file to read Course records from
      * @return a list of valid Courses
      * @throws FileNotFoundException if the file cannot be found or read
+     * @throws IllegalArgumentException if the file cannot be read after it is opened
      */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-	    Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
+		return readCourseRecords(fileName, new StringPool());
+	}
+
+	/**
+	 * Reads course records from a file and generates a list of valid Courses, sharing
+	 * repeated names, titles, sections, instructor ids, and meeting days through the given
+	 * pool. The pool reports how much memory the sharing saved. Any invalid Courses are
+	 * ignored.
+	 * @param fileName file to read Course records from
+	 * @param pool the pool repeated values are shared through
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after it is opened
+	 */
+	public static ArrayList<Course> readCourseRecords(String fileName, StringPool pool) throws FileNotFoundException {
+	    CourseRecordReader fileReader = new CourseRecordReader(fileName, pool);  //Open a reader over the file
 	    ArrayList<Course> courses = new ArrayList<Course>(); //Create an empty array of Course objects
-	    while (fileReader.hasNextLine()) { //While we have more lines in the file
-	        try { //Attempt to do the following
-	            //Read the line, process it in readCourse, and get the object
-	            //If trying to construct a Course in readCourse() results in an exception, flow of control will transfer to the catch block, below
-	            Course course = readCourse(fileReader.nextLine()); 
-
-	            //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-	            boolean duplicate = false;
-	            //Look at all the courses in our list
-	            for (int i = 0; i < courses.size(); i++) {
-	                //Get the course at index i
-	                Course current = courses.get(i);
-	                //Check if the name and section are the same
-	                if (course.getName().equals(current.getName()) &&
-	                        course.getSection().equals(current.getSection())) {
-	                    //It's a duplicate!
-	                    duplicate = true;
-	                    break; //We can break out of the loop, no need to continue searching
-	                }
-	            }
-	            //If the course is NOT a duplicate
-	            if (!duplicate) {
-	                courses.add(course); //Add to the ArrayList!
-	            } //Otherwise ignore
-	        } catch (IllegalArgumentException e) {
-	            //The line is invalid b/c we couldn't create a course, skip it!
-	        }
+	    try {
+	    	//The reader skips invalid lines and duplicate courses for us
+		    while (fileReader.hasNext()) { //While we have more courses in the file
+		        courses.add(fileReader.next()); //Add to the ArrayList!
+		    }
+	    } finally {
+	    	//Close the reader b/c we're responsible with our file handles
+	    	closeQuietly(fileReader);
 	    }
-	    //Close the Scanner b/c we're responsible with our file handles
-	    fileReader.close();
 	    //Return the ArrayList with all the courses we read!
 	    return courses;
 	}
 
 	/**
-	 * Process each Course line by line 
-	 * @param nextLine the next line in the file
+	 * Returns a lazily evaluated stream of the valid Courses in a file. Lines are read and
+	 * parsed only as the stream is consumed, and invalid or duplicate Courses are skipped
+	 * the same way readCourseRecords() skips them. The stream should be closed, for
+	 * example with try-with-resources, if it is not consumed to the end.
+	 * @param fileName file to read Course records from
+	 * @return a stream of the valid Courses, in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static Stream<Course> streamCourseRecords(String fileName) throws FileNotFoundException {
+		CourseRecordReader reader = new CourseRecordReader(fileName);
+		Spliterator<Course> courses = Spliterators.spliteratorUnknownSize(reader,
+				Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+		return StreamSupport.stream(courses, false).onClose(() -> closeQuietly(reader));
+	}
+
+	/**
+	 * Reads course records from a file and reports every line that was rejected, without
+	 * using exceptions to find invalid lines. The accepted courses are the same list, in
+	 * the same order, that readCourseRecords() returns. Each rejected line is reported
+	 * with its line number and the reason it was rejected, including duplicates.
+	 * @param fileName file to read Course records from
+	 * @return the accepted courses and the rejected lines
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after it is opened
+	 */
+	public static CourseRecordReport validateCourseRecords(String fileName) throws FileNotFoundException {
+		BufferedReader fileReader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8));
+		CourseRecordReport report = new CourseRecordReport();
+		HashSet<String> seen = new HashSet<String>();
+		LineTokenizer lineReader = new LineTokenizer(new StringPool());
+		try {
+			int lineNumber = 1;
+			String line = fileReader.readLine();
+			while (line != null) {
+				String reason = validateCourse(lineReader.reset(line), report, seen);
+				if (reason != null) {
+					report.addRejectedRecord(lineNumber, line, reason);
+				}
+				line = fileReader.readLine();
+				lineNumber++;
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		} finally {
+			closeQuietly(fileReader);
+		}
+		return report;
+	}
+
+	/**
+	 * Writes the rejected lines in a report to a file, one per line, as the line number,
+	 * the reason, and the original record separated by " - ".
+	 * @param fileName file to save to
+	 * @param report the report with the rejected lines to save
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeRejectedRecords(String fileName, CourseRecordReport report) throws IOException {
+		PrintStream fileWriter = new PrintStream(new File(fileName));
+		try {
+			for (CourseRecordReport.RejectedRecord r : report.getRejectedRecords()) {
+				fileWriter.println("line " + r.getLineNumber() + " - " + r.getReason() + " - " + r.getRecord());
+			}
+		} finally {
+			fileWriter.close();
+		}
+	}
+
+	/**
+	 * Reads course records from a file in parallel and generates a list of valid Courses.
+	 * The file is memory mapped and split into chunks that each end on a line break. The
+	 * chunks are parsed on the common ForkJoinPool and then merged in file order, so the
+	 * result is the same list, in the same order, as readCourseRecords() returns. Files too
+	 * large to map in one piece are read with readCourseRecords() instead.
+	 * @param fileName file to read Course records from
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after it is opened
+	 */
+	public static ArrayList<Course> readCourseRecordsParallel(String fileName) throws FileNotFoundException {
+		return readCourseRecordsParallel(fileName, new StringPool());
+	}
+
+	/**
+	 * Reads course records from a file in parallel, sharing repeated values through the
+	 * given pool. Every parsing task shares the same pool. The result is the same as
+	 * readCourseRecordsParallel(String).
+	 * @param fileName file to read Course records from
+	 * @param pool the pool repeated values are shared through
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read after it is opened
+	 */
+	public static ArrayList<Course> readCourseRecordsParallel(String fileName, StringPool pool) throws FileNotFoundException {
+		FileInputStream fileStream = new FileInputStream(fileName);
+		MappedByteBuffer mapped;
+		try {
+			FileChannel channel = fileStream.getChannel();
+			if (channel.size() > Integer.MAX_VALUE) {
+				return readCourseRecords(fileName, pool);
+			}
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		} finally {
+			//The mapping stays valid after the channel is closed
+			closeQuietly(fileStream);
+		}
+
+		//Start a parsing task for each chunk of the file
+		ForkJoinPool workers = ForkJoinPool.commonPool();
+		int[] bounds = chunkBounds(mapped, workers.getParallelism() * CHUNKS_PER_WORKER);
+		ArrayList<ForkJoinTask<ArrayList<Course>>> tasks = new ArrayList<ForkJoinTask<ArrayList<Course>>>();
+		for (int i = 0; i + 1 < bounds.length; i++) {
+			final int start = bounds[i];
+			final int end = bounds[i + 1];
+			tasks.add(workers.submit(() -> readChunk(mapped, start, end, pool)));
+		}
+
+		//Merge the chunks in file order so the first occurrence of a course is the one kept
+		ArrayList<Course> courses = new ArrayList<Course>();
+		HashSet<String> seen = new HashSet<String>();
+		for (ForkJoinTask<ArrayList<Course>> task : tasks) {
+			for (Course course : task.join()) {
+				if (seen.add(courseKey(course.getName(), course.getSection()))) {
+					courses.add(course);
+				}
+			}
+		}
+		return courses;
+	}
+
+	/**
+	 * Splits the mapped file into about the requested number of chunks. Every chunk except
+	 * the last ends just after a line break, so no line is split between two chunks.
+	 * @param mapped the mapped file
+	 * @param chunkCount the number of chunks wanted
+	 * @return the chunk boundaries, starting with 0 and ending with the file size
+	 */
+	static int[] chunkBounds(ByteBuffer mapped, int chunkCount) {
+		int size = mapped.limit();
+		int count = Math.max(1, Math.min(chunkCount, size / MIN_CHUNK_SIZE));
+		int chunkSize = size / count;
+
+		ArrayList<Integer> bounds = new ArrayList<Integer>();
+		bounds.add(0);
+		int start = 0;
+		while (start < size) {
+			int end = Math.max(start + chunkSize, start + 1);
+			//Move the end forward until it is just past a line break or at the end of the file
+			while (end < size && !isLineBreak(mapped.get(end - 1))) {
+				end++;
+			}
+			end = Math.min(end, size);
+			bounds.add(end);
+			start = end;
+		}
+
+		int[] result = new int[bounds.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = bounds.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Parses the valid Courses in one chunk of a mapped file. Invalid lines are ignored and
+	 * duplicates are left for the merge step.
+	 * @param mapped the mapped file
+	 * @param start index of the first byte of the chunk
+	 * @param end index one past the last byte of the chunk
+	 * @param pool the pool repeated values are shared through
+	 * @return the valid Courses in the chunk, in file order
+	 */
+	private static ArrayList<Course> readChunk(ByteBuffer mapped, int start, int end, StringPool pool) {
+		//Copy the chunk out of the mapping so lines can be decoded from an array
+		byte[] bytes = new byte[end - start];
+		ByteBuffer chunk = mapped.duplicate();
+		chunk.position(start);
+		chunk.get(bytes);
+
+		ArrayList<Course> courses = new ArrayList<Course>();
+		LineTokenizer lineReader = new LineTokenizer(pool);
+		int lineStart = 0;
+		for (int i = 0; i <= bytes.length; i++) {
+			if (i == bytes.length || isLineBreak(bytes[i])) {
+				//Blank lines, including the one between \r and \n, are skipped
+				if (i > lineStart) {
+					try {
+						courses.add(readCourse(lineReader.reset(new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8))));
+					} catch (IllegalArgumentException e) {
+						//The line is invalid b/c we couldn't create a course, skip it!
+					}
+				}
+				lineStart = i + 1;
+			}
+		}
+		return courses;
+	}
+
+	/**
+	 * Returns true if the byte ends a line. Both bytes are ASCII, so they never appear
+	 * inside a multi-byte UTF-8 character.
+	 * @param b the byte to check
+	 * @return true if the byte is a carriage return or line feed
+	 */
+	private static boolean isLineBreak(byte b) {
+		return b == '\n' || b == '\r';
+	}
+
+	/**
+	 * Process each Course line by line
+	 * @param lineReader the tokenizer positioned at the start of the next line in the file
 	 * @return a newly built course object
+	 * @throws IllegalArgumentException if the line does not describe a valid course
 	 */
-	 private static Course readCourse(String nextLine) {
-		 
-		 //Create a scanner to process the input line
-		 Scanner lineReader = new Scanner (nextLine);
-		 //Specify the delimiter as ","
-		 lineReader.useDelimiter(",");
-		 
-		 //Initialize variables to hold the token values
-		 String name, title, section, instructorId, meetingDays;
-		 int credits; 
-		 
+	 static Course readCourse(LineTokenizer lineReader) {
+
+		 //read in tokens and store them in local variables
+		 String name = lineReader.next();
+		 String title = lineReader.next();
+		 String section = lineReader.next();
+		 int credits = lineReader.nextInt();
+		 String instructorId = lineReader.next();
+		 String meetingDays = lineReader.next();
+
+		 //throw IAE if meeting days is Arranged and there are more tokens after it.
+		 if ("A".equals(meetingDays)) {
+			 if (lineReader.hasNext()) {
+				 throw new IllegalArgumentException();
+			 }
+
+			 //return newly constructed course object
+			 return new Course (name, title, section, credits, instructorId, meetingDays);
+		 }
+
+		 //read in tokens for start and end time.
+		 int startTime = lineReader.nextInt();
+		 int endTime = lineReader.nextInt();
+
+		 //throw IAE if there are more tokens
+		 if (lineReader.hasNext()) {
+			 throw new IllegalArgumentException();
+		 }
+
+		 //return a newly constructed course object.
+		 return new Course (name, title, section, credits, instructorId, meetingDays, startTime, endTime);
+	 }
+
+	 /**
+	  * Checks one course record without throwing. A valid course that is not a duplicate
+	  * is added to the report.
+	  * @param lineReader the tokenizer positioned at the start of the line
+	  * @param report the report to add an accepted course to
+	  * @param seen the name and section keys of the courses accepted so far
+	  * @return the reason the record was rejected, or null if it was accepted
+	  */
+	 private static String validateCourse(LineTokenizer lineReader, CourseRecordReport report, HashSet<String> seen) {
+
+		 //Check that every token is present and has the right type
+		 if (!lineReader.hasNext()) {
+			 return "Missing course name.";
+		 }
+		 String name = lineReader.next();
+		 if (!lineReader.hasNext()) {
+			 return "Missing title.";
+		 }
+		 String title = lineReader.next();
+		 if (!lineReader.hasNext()) {
+			 return "Missing section.";
+		 }
+		 String section = lineReader.next();
+		 if (!lineReader.hasNextInt()) {
+			 return "Invalid credits.";
+		 }
+		 int credits = lineReader.nextInt();
+		 if (!lineReader.hasNext()) {
+			 return "Missing instructor id.";
+		 }
+		 String instructorId = lineReader.next();
+		 if (!lineReader.hasNext()) {
+			 return "Missing meeting days.";
+		 }
+		 String meetingDays = lineReader.next();
+
+		 //Arranged courses have no start and end time tokens
+		 int startTime = 0;
+		 int endTime = 0;
+		 if (!"A".equals(meetingDays)) {
+			 if (!lineReader.hasNextInt()) {
+				 return "Invalid meeting days and times.";
+			 }
+			 startTime = lineReader.nextInt();
+			 if (!lineReader.hasNextInt()) {
+				 return "Invalid meeting days and times.";
+			 }
+			 endTime = lineReader.nextInt();
+		 }
+		 if (lineReader.hasNext()) {
+			 return "Too many fields.";
+		 }
+
+		 //Check the values the same way the Course constructor does
+		 String reason = Course.validate(name, title, section, credits, instructorId, meetingDays, startTime, endTime);
+		 if (reason != null) {
+			 return reason;
+		 }
+		 if (!seen.add(courseKey(name, section))) {
+			 return "Duplicate course.";
+		 }
+
+		 report.addCourse(new Course(name, title, section, credits, instructorId, meetingDays, startTime, endTime));
+		 return null;
+	 }
+
+	 /**
+	  * Builds the key that identifies a course by its name and section. Course names
+	  * never contain a comma, so the key is unambiguous.
+	  * @param name the name of the course
+	  * @param section the section of the course
+	  * @return the key for the name and section
+	  */
+	 static String courseKey(String name, String section) {
+		 return name + "," + section;
+	 }
+
+	 /**
+	  * Closes the given reader, ignoring any error since nothing more is read from it.
+	  * @param reader the reader to close
+	  */
+	 private static void closeQuietly(Closeable reader) {
 		 try {
-			//read in tokens and store them in local variables
-			 name = lineReader.next().trim();
-			 title = lineReader.next().trim();
-			 section = lineReader.next().trim();
-			 credits = lineReader.nextInt();
-			 instructorId = lineReader.next().trim(); 
-			 meetingDays = lineReader.next().trim();
-			 
-			 //throw IAE if meeting days is Arranged and there are more tokens after it.
-			 if ("A".equals(meetingDays)) {
-				 if (lineReader.hasNext()) {
-					 throw new IllegalArgumentException();
-				 }
-				 
-				 //return newly constructed course object
-					return new Course (name, title, section, credits, instructorId, meetingDays);
+			 reader.close();
+		 } catch (IOException e) {
+			 //Nothing more can be done with the file at this point
+		 }
+	 }
+
+	 /**
+	  * Splits a single comma separated record into tokens by walking its characters directly.
+	  * A single instance is reused for every line of a file, and integer tokens are parsed in
+	  * place without creating a substring. Like the Scanner it replaces, empty tokens between
+	  * two commas are returned and a trailing comma at the end of the line is ignored. A
+	  * tokenizer given a StringPool returns the pooled copy of each token.
+	  */
+	 static class LineTokenizer {
+
+		 /** Delimiter between tokens */
+		 private static final char DELIMITER = ',';
+		 /** Largest number of digits accepted in an integer token */
+		 private static final int MAX_INT_DIGITS = 9;
+		 /** Line being tokenized */
+		 private String line;
+		 /** Index of the next character to read */
+		 private int position;
+		 /** Pool the tokens are shared through, or null if tokens are not pooled */
+		 private StringPool pool;
+
+		 /**
+		  * Creates a tokenizer that returns a new String for each token
+		  */
+		 LineTokenizer() {
+			 this(null);
+		 }
+
+		 /**
+		  * Creates a tokenizer that returns the pooled copy of each token
+		  * @param pool the pool the tokens are shared through, or null to not pool tokens
+		  */
+		 LineTokenizer(StringPool pool) {
+			 this.pool = pool;
+		 }
+
+		 /**
+		  * Points the tokenizer at a new line
+		  * @param line the line to tokenize
+		  * @return this tokenizer
+		  */
+		 LineTokenizer reset(String line) {
+			 this.line = line;
+			 this.position = 0;
+			 return this;
+		 }
+
+		 /**
+		  * Returns true if there is another token on the line
+		  * @return true if another token remains
+		  */
+		 boolean hasNext() {
+			 return position < line.length();
+		 }
+
+		 /**
+		  * Returns the next token with surrounding whitespace removed
+		  * @return the next token
+		  * @throws IllegalArgumentException if there are no more tokens
+		  */
+		 String next() {
+			 int end = tokenEnd();
+			 int start = position;
+			 int last = end;
+			 position = end + 1;
+
+			 //Trim whitespace without building an untrimmed substring first
+			 while (start < last && line.charAt(start) <= ' ') {
+				 start++;
+			 }
+			 while (last > start && line.charAt(last - 1) <= ' ') {
+				 last--;
 			 }
-			 
-			 else {
-				 //read in tokens for start and end time.
-				 int startTime = lineReader.nextInt();
-				 int endTime = lineReader.nextInt();
-				
-				 //throw IAE if there are more tokens
-				 if (lineReader.hasNext()) {
-					 throw new IllegalArgumentException();
+			 String token = line.substring(start, last);
+			 return pool == null ? token : pool.intern(token);
+		 }
+
+		 /**
+		  * Returns true if the next token is an integer: an optional sign followed by
+		  * digits. The token is not consumed.
+		  * @return true if the next token is an integer
+		  */
+		 boolean hasNextInt() {
+			 if (!hasNext()) {
+				 return false;
+			 }
+			 int end = tokenEnd();
+			 int i = position;
+			 if (i < end && (line.charAt(i) == '-' || line.charAt(i) == '+')) {
+				 i++;
+			 }
+
+			 //Reject empty tokens and values too large to be a valid credit count or time
+			 if (i == end || end - i > MAX_INT_DIGITS) {
+				 return false;
+			 }
+			 for (; i < end; i++) {
+				 char c = line.charAt(i);
+				 if (c < '0' || c > '9') {
+					 return false;
 				 }
-				 
-				 //return a newly constructed course object.
-				 return new Course (name, title, section, credits, instructorId, meetingDays, startTime, endTime);
-				 
-			 }	 
-		 } catch (Exception e) {//Catch any exceptions and throw and IAE
-			 throw new  IllegalArgumentException();
-		 } finally {
-
-		 //close the scanner
-		 lineReader.close();
-	}
-}
+			 }
+			 return true;
+		 }
+
+		 /**
+		  * Returns the next token as an integer. The token may only contain an optional
+		  * sign followed by digits.
+		  * @return the integer value of the next token
+		  * @throws IllegalArgumentException if there are no more tokens or the token is not an integer
+		  */
+		 int nextInt() {
+			 if (!hasNextInt()) {
+				 throw new IllegalArgumentException();
+			 }
+			 int end = tokenEnd();
+			 int i = position;
+			 position = end + 1;
+
+			 boolean negative = line.charAt(i) == '-';
+			 if (negative || line.charAt(i) == '+') {
+				 i++;
+			 }
+
+			 int value = 0;
+			 for (; i < end; i++) {
+				 value = value * 10 + (line.charAt(i) - '0');
+			 }
+			 return negative ? -value : value;
+		 }
+
+		 /**
+		  * Returns everything left on the line, commas included, without trimming it
+		  * @return the rest of the line, or an empty string if nothing is left
+		  */
+		 String rest() {
+			 String rest = hasNext() ? line.substring(position) : "";
+			 position = line.length() + 1;
+			 return rest;
+		 }
+
+		 /**
+		  * Finds the index one past the last character of the current token
+		  * @return the end index of the current token
+		  * @throws IllegalArgumentException if there are no more tokens
+		  */
+		 private int tokenEnd() {
+			 if (!hasNext()) {
+				 throw new IllegalArgumentException();
+			 }
+			 int end = line.indexOf(DELIMITER, position);
+			 return end < 0 ? line.length() : end;
+		 }
+	 }
 
 }
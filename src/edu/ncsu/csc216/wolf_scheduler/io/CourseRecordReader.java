@@ -0,0 +1,133 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads a course record file one line at a time. Each call to next() parses only the next
+ * valid Course, so the catalog is never fully built in memory. Invalid lines are skipped,
+ * and a Course with the same name and section as an earlier one is skipped as a duplicate,
+ * just as readCourseRecords() does.
+ * 
+ * @author Daniela Deleon
+ */
+public class CourseRecordReader implements Iterator<Course>, Closeable {
+
+	/** Size of the character buffer used when reading course records */
+	private static final int READ_BUFFER_SIZE = 1 << 16;
+	/** Reader for the course record file */
+	private BufferedReader fileReader;
+	/** Tokenizer reused for every line in the file */
+	private CourseRecordIO.LineTokenizer lineReader;
+	/** Name and section keys of the courses already returned */
+	private HashSet<String> seen;
+	/** Next valid course in the file, or null if it has not been read yet */
+	private Course nextCourse;
+
+	/**
+	 * Opens the given course record file for reading
+	 * @param fileName file to read Course records from
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public CourseRecordReader(String fileName) throws FileNotFoundException {
+		this(fileName, new StringPool());
+	}
+
+	/**
+	 * Opens the given course record file for reading, sharing repeated names, titles,
+	 * sections, instructor ids, and meeting days through the given pool
+	 * @param fileName file to read Course records from
+	 * @param pool the pool repeated values are shared through, or null to not share them,
+	 * such as when the courses are only passed on to a CourseCatalog
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public CourseRecordReader(String fileName, StringPool pool) throws FileNotFoundException {
+		fileReader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+		lineReader = new CourseRecordIO.LineTokenizer(pool);
+		seen = new HashSet<String>();
+	}
+
+	/**
+	 * Returns true if there is another valid course in the file. The file is closed once
+	 * the last line has been read.
+	 * @return true if another course remains
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	@Override
+	public boolean hasNext() {
+		try {
+			//Read lines until one is a valid, new course or the file ends
+			while (nextCourse == null && fileReader != null) {
+				String line = fileReader.readLine();
+				if (line == null) {
+					close();
+				} else {
+					readLine(line);
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read course records.");
+		}
+		return nextCourse != null;
+	}
+
+	/**
+	 * Returns the next valid course in the file
+	 * @return the next course
+	 * @throws NoSuchElementException if there are no more courses
+	 */
+	@Override
+	public Course next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Course course = nextCourse;
+		nextCourse = null;
+		return course;
+	}
+
+	/**
+	 * Closes the file. Calling close more than once has no effect.
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (fileReader != null) {
+			BufferedReader reader = fileReader;
+			fileReader = null;
+			reader.close();
+		}
+	}
+
+	/**
+	 * Parses a line and keeps the course if it is valid and not a duplicate
+	 * @param line the line to parse
+	 */
+	private void readLine(String line) {
+		try {
+			Course course = CourseRecordIO.readCourse(lineReader.reset(line));
+			
+			//Record the name and section; add() returns false if they were already seen
+			if (seen.add(CourseRecordIO.courseKey(course.getName(), course.getSection()))) {
+				nextCourse = course;
+			}
+		} catch (IllegalArgumentException e) {
+			//The line is invalid b/c we couldn't create a course, skip it!
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Result of validating a course record file. Holds the courses that were accepted and,
+ * for every line that was rejected, its line number, its text, and the reason.
+ * 
+ * @author Daniela Deleon
+ */
+public class CourseRecordReport {
+
+	/** Courses accepted from the file, in file order */
+	private ArrayList<Course> courses;
+	/** Lines rejected from the file, in file order */
+	private ArrayList<RejectedRecord> rejectedRecords;
+
+	/**
+	 * Constructs an empty report
+	 */
+	public CourseRecordReport() {
+		courses = new ArrayList<Course>();
+		rejectedRecords = new ArrayList<RejectedRecord>();
+	}
+
+	/**
+	 * Returns the courses accepted from the file
+	 * @return the accepted courses
+	 */
+	public ArrayList<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Returns the lines rejected from the file
+	 * @return the rejected lines
+	 */
+	public ArrayList<RejectedRecord> getRejectedRecords() {
+		return rejectedRecords;
+	}
+
+	/**
+	 * Adds an accepted course to the report
+	 * @param course the accepted course
+	 */
+	void addCourse(Course course) {
+		courses.add(course);
+	}
+
+	/**
+	 * Adds a rejected line to the report
+	 * @param lineNumber the line number, starting from 1
+	 * @param record the text of the line
+	 * @param reason the reason the line was rejected
+	 */
+	void addRejectedRecord(int lineNumber, String record, String reason) {
+		rejectedRecords.add(new RejectedRecord(lineNumber, record, reason));
+	}
+
+	/**
+	 * A single line that was rejected from a course record file
+	 */
+	public static class RejectedRecord {
+
+		/** Line number of the record, starting from 1 */
+		private int lineNumber;
+		/** Text of the record */
+		private String record;
+		/** Reason the record was rejected */
+		private String reason;
+
+		/**
+		 * Constructs a rejected record
+		 * @param lineNumber the line number, starting from 1
+		 * @param record the text of the line
+		 * @param reason the reason the line was rejected
+		 */
+		public RejectedRecord(int lineNumber, String record, String reason) {
+			this.lineNumber = lineNumber;
+			this.record = record;
+			this.reason = reason;
+		}
+
+		/**
+		 * Returns the line number of the record
+		 * @return the line number, starting from 1
+		 */
+		public int getLineNumber() {
+			return lineNumber;
+		}
+
+		/**
+		 * Returns the text of the record
+		 * @return the record
+		 */
+		public String getRecord() {
+			return record;
+		}
+
+		/**
+		 * Returns the reason the record was rejected
+		 * @return the reason
+		 */
+		public String getReason() {
+			return reason;
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads and writes course catalogs in a compact binary snapshot format, and converts
+ * course record text files into snapshots. A snapshot starts with a magic number, a
+ * format version, and the number of courses. Each course is then stored as its name,
+ * title, section, and instructor id as length-prefixed UTF-8 strings, followed by one
+ * int packing the credits, start time, and end time, and one byte holding the meeting
+ * days as the Activity day mask. Meeting days that are not listed in the usual MTWHFSU
+ * order are flagged in the high bit of that byte and followed by the original string,
+ * so every course reads back exactly as it was written.
+ *
+ * @author Daniela Deleon
+ */
+public class CourseSnapshotIO {
+
+	/**
+	 * Magic number at the start of every snapshot (0x89 then "WSC"). The first byte is not
+	 * ASCII and cannot start a UTF-8 character, so no course record text file begins with it.
+	 */
+	private static final int MAGIC = 0x89575343;
+	/** Version of the snapshot format */
+	private static final int VERSION = 1;
+	/** Bytes in the magic number, version, and course count */
+	private static final int HEADER_BYTES = 9;
+	/** Fewest bytes a course can take: four empty strings, the packed int, and the days */
+	private static final int MIN_COURSE_BYTES = 13;
+	/** Size of the buffer used when reading or writing snapshots */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Number of bits used for each time in the packed int */
+	private static final int TIME_BITS = 12;
+	/** Mask for a single time in the packed int */
+	private static final int TIME_MASK = (1 << TIME_BITS) - 1;
+	/** Flag set in the day mask byte when the meeting days string follows it */
+	private static final int LITERAL_DAYS = 0x80;
+
+	/**
+	 * Converts a course record text file into a binary snapshot. Invalid and duplicate
+	 * records are dropped the same way readCourseRecords() drops them.
+	 * @param recordFileName course record file to read
+	 * @param snapshotFileName snapshot file to write
+	 * @throws IOException if the record file cannot be read or the snapshot cannot be written
+	 */
+	public static void convertCourseRecords(String recordFileName, String snapshotFileName) throws IOException {
+		writeCourseSnapshot(snapshotFileName, CourseRecordIO.readCourseRecords(recordFileName));
+	}
+
+	/**
+	 * Returns true if the file starts with the snapshot magic number
+	 * @param fileName file to check
+	 * @return true if the file is a course snapshot
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static boolean isCourseSnapshot(String fileName) throws FileNotFoundException {
+		DataInputStream in = new DataInputStream(new FileInputStream(fileName));
+		try {
+			return in.readInt() == MAGIC;
+		} catch (IOException e) {
+			//Files shorter than the magic number are not snapshots
+			return false;
+		} finally {
+			closeQuietly(in);
+		}
+	}
+
+	/**
+	 * Writes the given courses to a snapshot file
+	 * @param fileName file to save to
+	 * @param courses list of courses to save
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void writeCourseSnapshot(String fileName, ArrayList<Course> courses) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), BUFFER_SIZE));
+		try {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeInt(courses.size());
+			for (Course c : courses) {
+				out.writeUTF(c.getName());
+				out.writeUTF(c.getTitle());
+				out.writeUTF(c.getSection());
+				out.writeUTF(c.getInstructorId());
+				out.writeInt(packTimes(c.getCredits(), c.getStartTime(), c.getEndTime()));
+				int mask = c.getMeetingDaysMask();
+				if (c.getMeetingDays().equals(Activity.fromDayMask(mask))) {
+					out.writeByte(mask);
+				} else {
+					out.writeByte(mask | LITERAL_DAYS);
+					out.writeUTF(c.getMeetingDays());
+				}
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Reads the courses stored in a snapshot file
+	 * @param fileName file to read courses from
+	 * @return the list of courses in the snapshot, in the order they were written
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file is not a valid snapshot
+	 */
+	public static ArrayList<Course> readCourseSnapshot(String fileName) throws FileNotFoundException {
+		FileInputStream file = new FileInputStream(fileName);
+		DataInputStream in = new DataInputStream(new BufferedInputStream(file, BUFFER_SIZE));
+		try {
+			if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+				throw new IllegalArgumentException("Invalid course snapshot.");
+			}
+
+			//A count that could not fit in the file means the snapshot is corrupt, so it
+			//is rejected before the list is sized from it
+			int count = in.readInt();
+			if (count < 0 || count > (file.getChannel().size() - HEADER_BYTES) / MIN_COURSE_BYTES) {
+				throw new IllegalArgumentException("Invalid course snapshot.");
+			}
+			ArrayList<Course> courses = new ArrayList<Course>(count);
+			//Share repeated values between sections, as readCourseRecords() does
+			StringPool pool = new StringPool();
+			for (int i = 0; i < count; i++) {
+				String name = pool.intern(in.readUTF());
+				String title = pool.intern(in.readUTF());
+				String section = pool.intern(in.readUTF());
+				String instructorId = pool.intern(in.readUTF());
+				int packed = in.readInt();
+				int mask = in.readUnsignedByte();
+				String meetingDays = pool.intern((mask & LITERAL_DAYS) == 0 ? Activity.fromDayMask(mask) : in.readUTF());
+
+				int credits = packed >>> (2 * TIME_BITS);
+				int startTime = (packed >>> TIME_BITS) & TIME_MASK;
+				int endTime = packed & TIME_MASK;
+				courses.add(new Course(name, title, section, credits, instructorId, meetingDays, startTime, endTime));
+			}
+			return courses;
+		} catch (EOFException e) {
+			throw new IllegalArgumentException("Invalid course snapshot.");
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		} finally {
+			closeQuietly(in);
+		}
+	}
+
+	/**
+	 * Packs the credits, start time, and end time of a course into one int
+	 * @param credits the course credits
+	 * @param startTime the start time of the course
+	 * @param endTime the end time of the course
+	 * @return the packed value
+	 */
+	private static int packTimes(int credits, int startTime, int endTime) {
+		return credits << (2 * TIME_BITS) | startTime << TIME_BITS | endTime;
+	}
+
+	/**
+	 * Closes the given stream, ignoring any error since nothing more is done with it.
+	 * @param in the stream to close
+	 */
+	private static void closeQuietly(DataInputStream in) {
+		try {
+			in.close();
+		} catch (IOException e) {
+			//Nothing more can be done with the file at this point
+		}
+	}
+
+	/**
+	 * Converts a course record file into a snapshot from the command line
+	 * @param args the course record file followed by the snapshot file to write
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.err.println("Usage: CourseSnapshotIO <course record file> <snapshot file>");
+			return;
+		}
+		try {
+			convertCourseRecords(args[0], args[1]);
+		} catch (IOException e) {
+			System.err.println("Unable to convert " + args[0] + ": " + e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,22 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+/**
+ * Receives progress updates while activity records are exported, and can cancel the
+ * export by returning false.
+ * 
+ * @author Daniela Deleon
+ */
+public interface ExportProgress {
+
+	/**
+	 * Called as records are written, and once more after the last record
+	 * @param written the number of records written so far
+	 * @param total the total number of records being exported
+	 * @return true to keep exporting, false to cancel the export
+	 */
+	boolean recordsWritten(int written, int total);
+
+}
@@ -0,0 +1,95 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of String values shared while a course record file is loaded, so that a title or
+ * instructor id repeated across many sections is kept in memory only once. Unlike
+ * String.intern(), the pool is dropped with the loader and never outlives the catalog it
+ * was used for. The pool also estimates the memory saved by each repeated value, using
+ * the size of a String and its backing array on a 64-bit JVM with compressed references.
+ * It is safe to use from several loading threads at once.
+ * 
+ * @author Daniela Deleon
+ */
+public class StringPool {
+
+	/** Bytes used by a String object apart from its backing array */
+	private static final int STRING_OVERHEAD = 24;
+	/** Bytes used by an array header */
+	private static final int ARRAY_OVERHEAD = 16;
+	/** Objects are allocated in multiples of this many bytes */
+	private static final int ALIGNMENT = 8;
+	/** The pooled values, each mapped to itself */
+	private ConcurrentHashMap<String, String> values = new ConcurrentHashMap<String, String>();
+	/** Number of values that were replaced by a pooled copy */
+	private LongAdder duplicates = new LongAdder();
+	/** Estimated bytes no longer used by the replaced values */
+	private LongAdder bytesSaved = new LongAdder();
+
+	/**
+	 * Returns the pooled copy of the value, adding the value to the pool if it is new
+	 * @param value the value to pool
+	 * @return the pooled copy of the value
+	 */
+	public String intern(String value) {
+		String pooled = values.putIfAbsent(value, value);
+		if (pooled == null) {
+			return value;
+		}
+		
+		//Passing in the pooled copy itself does not replace anything
+		if (pooled != value) {
+			duplicates.increment();
+			bytesSaved.add(sizeOf(value));
+		}
+		return pooled;
+	}
+
+	/**
+	 * Returns the number of distinct values in the pool
+	 * @return the number of pooled values
+	 */
+	public int size() {
+		return values.size();
+	}
+
+	/**
+	 * Returns the number of values that were replaced by a pooled copy
+	 * @return the number of duplicates removed
+	 */
+	public long getDuplicateCount() {
+		return duplicates.sum();
+	}
+
+	/**
+	 * Returns the estimated number of bytes saved by sharing pooled copies
+	 * @return the estimated bytes saved
+	 */
+	public long getBytesSaved() {
+		return bytesSaved.sum();
+	}
+
+	/**
+	 * Estimates the memory used by a String. Strings that only use Latin-1 characters
+	 * store one byte per character, others store two.
+	 * @param value the String to measure
+	 * @return the estimated size in bytes
+	 */
+	static long sizeOf(String value) {
+		int bytesPerChar = 1;
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > 0xFF) {
+				bytesPerChar = 2;
+				break;
+			}
+		}
+		long array = ARRAY_OVERHEAD + (long) value.length() * bytesPerChar;
+		return STRING_OVERHEAD + (array + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+
+}
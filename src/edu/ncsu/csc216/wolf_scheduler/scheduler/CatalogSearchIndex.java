@@ -0,0 +1,313 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * Prefix index over the names and titles of a course catalog, used for type-ahead
+ * search. The lower cased names and titles are kept in two sorted arrays, so the
+ * matches for a prefix are one contiguous range found with a binary search. Matches
+ * are ranked with name matches first and title matches after them; within each group
+ * they are in alphabetical order, so an exact match comes before longer keys, and
+ * courses with the same key stay in catalog order. A course whose name and title both
+ * match is ranked once, as a name match. The name and title keys of such a course start
+ * with the same characters, so the index also keeps those shared prefixes in sorted
+ * order, and the courses matching both ways are one more range. Counting is then a few
+ * binary searches, and a page of title matches starts at its offset without reading the
+ * names of the matches before it. An index may cover only some of the catalog, such as
+ * one department, and the results of several indexes over the same catalog can be
+ * merged by sorting them on rankKey() and then position. The index is built once and
+ * never changes.
+ *
+ * @author Daniela Deleon
+ */
+public class CatalogSearchIndex {
+
+	/** Character that sorts after every character used in a course name or title */
+	private static final char MAX_CHAR = '\uffff';
+	/** The indexed catalog */
+	private final CourseCatalog courses;
+	/** Lower cased course names in sorted order */
+	private final String[] nameKeys;
+	/** Catalog position of the course for each name key */
+	private final int[] nameCourses;
+	/** Lower cased course titles in sorted order */
+	private final String[] titleKeys;
+	/** Catalog position of the course for each title key */
+	private final int[] titleCourses;
+	/**
+	 * Positions in titleKeys of the courses whose name and title keys share a prefix,
+	 * sorted by the shared prefix
+	 */
+	private final int[] sharedTitles;
+	/** Length of the prefix shared by the name and title keys of each sharedTitles course */
+	private final int[] sharedLengths;
+
+	/**
+	 * Builds the index for the given catalog
+	 * @param courses the catalog to index
+	 */
+	public CatalogSearchIndex(CourseCatalog courses) {
+		this(courses, null);
+	}
+
+	/**
+	 * Builds the index for some of the courses in the given catalog
+	 * @param courses the catalog the courses are in
+	 * @param subset the catalog positions of the courses to index in increasing order, or
+	 * null for all of them
+	 */
+	public CatalogSearchIndex(CourseCatalog courses, int[] subset) {
+		this.courses = courses;
+		int count = subset == null ? courses.size() : subset.length;
+
+		String[] names = new String[count];
+		String[] titles = new String[count];
+		for (int j = 0; j < count; j++) {
+			int i = subset == null ? j : subset[j];
+			names[j] = toKey(courses.getName(i));
+			titles[j] = toKey(courses.getTitle(i));
+		}
+
+		nameCourses = sortedOrder(names);
+		nameKeys = keysInOrder(names, nameCourses);
+		titleCourses = sortedOrder(titles);
+		titleKeys = keysInOrder(titles, titleCourses);
+
+		//Keep the prefix each course's name and title keys share, if they share one
+		int sharedCount = 0;
+		int[] lengths = new int[count];
+		for (int i = 0; i < count; i++) {
+			lengths[i] = sharedLength(names[titleCourses[i]], titleKeys[i]);
+			if (lengths[i] > 0) {
+				sharedCount++;
+			}
+		}
+		int[] shared = new int[sharedCount];
+		String[] prefixes = new String[sharedCount];
+		for (int i = 0, j = 0; i < count; i++) {
+			if (lengths[i] > 0) {
+				shared[j] = i;
+				prefixes[j++] = titleKeys[i].substring(0, lengths[i]);
+			}
+		}
+		int[] order = sortedOrder(prefixes);
+		sharedTitles = new int[sharedCount];
+		sharedLengths = new int[sharedCount];
+		for (int j = 0; j < sharedCount; j++) {
+			sharedTitles[j] = shared[order[j]];
+			sharedLengths[j] = lengths[shared[order[j]]];
+		}
+
+		//Store catalog positions rather than positions in the subset
+		for (int i = 0; subset != null && i < count; i++) {
+			nameCourses[i] = subset[nameCourses[i]];
+			titleCourses[i] = subset[titleCourses[i]];
+		}
+	}
+
+	/**
+	 * Returns one page of the courses whose name or title starts with the prefix, in
+	 * ranked order. Case is ignored.
+	 * @param prefix the start of the course name or title
+	 * @param offset the number of ranked matches to skip
+	 * @param limit the largest number of matches to return
+	 * @return the catalog positions of the matching courses
+	 */
+	public int[] search(String prefix, int offset, int limit) {
+		String key = toKey(prefix);
+		int[] matches = new int[Math.max(0, Math.min(limit, courses.size()))];
+		int count = 0;
+
+		//Name matches come first, and are all distinct courses
+		int start = lowerBound(nameKeys, key);
+		int end = lowerBound(nameKeys, key + MAX_CHAR);
+		for (int i = start + offset; i < end && count < matches.length; i++) {
+			matches[count++] = nameCourses[i];
+		}
+
+		//Every course matches an empty prefix by name, so there are no title matches
+		if (count == matches.length || key.isEmpty()) {
+			return Arrays.copyOf(matches, count);
+		}
+
+		//Title matches skip courses that were already matched by name, which are the
+		//shared prefix matches
+		int skip = Math.max(0, offset - (end - start));
+		start = lowerBound(titleKeys, key);
+		end = lowerBound(titleKeys, key + MAX_CHAR);
+		int sharedStart = sharedLowerBound(key);
+		int[] skipped = new int[sharedLowerBound(key + MAX_CHAR) - sharedStart];
+		for (int j = 0; j < skipped.length; j++) {
+			skipped[j] = sharedTitles[sharedStart + j];
+		}
+		Arrays.sort(skipped);
+
+		//Move past the title matches before the offset and the skipped courses among them
+		int i = start + skip;
+		int next = 0;
+		while (next < skipped.length && skipped[next] <= i) {
+			i++;
+			next++;
+		}
+		for (; i < end && count < matches.length; i++) {
+			if (next < skipped.length && skipped[next] == i) {
+				next++;
+			} else {
+				matches[count++] = titleCourses[i];
+			}
+		}
+		return Arrays.copyOf(matches, count);
+	}
+
+	/**
+	 * Returns the number of courses whose name or title starts with the prefix. Case is
+	 * ignored.
+	 * @param prefix the start of the course name or title
+	 * @return the number of matching courses
+	 */
+	public int count(String prefix) {
+		String key = toKey(prefix);
+		int names = lowerBound(nameKeys, key + MAX_CHAR) - lowerBound(nameKeys, key);
+		if (key.isEmpty()) {
+			return names;
+		}
+		int titles = lowerBound(titleKeys, key + MAX_CHAR) - lowerBound(titleKeys, key);
+		int both = sharedLowerBound(key + MAX_CHAR) - sharedLowerBound(key);
+		return names + titles - both;
+	}
+
+	/**
+	 * Returns a key for a course matching the prefix that sorts in the ranked order
+	 * search() uses, so matches from several indexes over the same catalog can be merged.
+	 * Matches with equal keys are ranked by catalog position.
+	 * @param courses the catalog the course is in
+	 * @param prefix the start of the course name or title
+	 * @param position the catalog position of the matching course
+	 * @return the rank key of the match
+	 */
+	public static String rankKey(CourseCatalog courses, String prefix, int position) {
+		String name = toKey(courses.getName(position));
+
+		//Name matches rank before title matches
+		if (name.startsWith(toKey(prefix))) {
+			return "0" + name;
+		}
+		return "1" + toKey(courses.getTitle(position));
+	}
+
+	/**
+	 * Returns the search key for a name, title, or prefix
+	 * @param text the text to convert
+	 * @return the lower cased text, or an empty string for null
+	 */
+	private static String toKey(String text) {
+		return text == null ? "" : text.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Returns the length of the prefix two keys share
+	 * @param a the first key
+	 * @param b the second key
+	 * @return the number of characters at the start of both keys that are the same
+	 */
+	private static int sharedLength(String a, String b) {
+		int length = Math.min(a.length(), b.length());
+		int i = 0;
+		while (i < length && a.charAt(i) == b.charAt(i)) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the positions of the keys in sorted order. Equal keys keep their original
+	 * order.
+	 * @param keys the keys to sort
+	 * @return the positions of the keys, ordered by key
+	 */
+	private static int[] sortedOrder(String[] keys) {
+		Integer[] order = new Integer[keys.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		//Object sorting is stable, so equal keys stay in catalog order
+		Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+
+		int[] positions = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			positions[i] = order[i];
+		}
+		return positions;
+	}
+
+	/**
+	 * Returns the keys rearranged into the given order
+	 * @param keys the keys to rearrange
+	 * @param order the positions of the keys in sorted order
+	 * @return the sorted keys
+	 */
+	private static String[] keysInOrder(String[] keys, int[] order) {
+		String[] sorted = new String[order.length];
+		for (int i = 0; i < order.length; i++) {
+			sorted[i] = keys[order[i]];
+		}
+		return sorted;
+	}
+
+	/**
+	 * Returns the position of the first key that is not less than the target
+	 * @param keys the sorted keys to search
+	 * @param target the key to search for
+	 * @return the position of the first key not less than target, or keys.length
+	 */
+	private static int lowerBound(String[] keys, String target) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid].compareTo(target) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the position of the first shared prefix that is not less than the target.
+	 * The prefixes are compared in place in titleKeys, the same as String.compareTo().
+	 * @param target the key to search for
+	 * @return the position in sharedTitles of the first prefix not less than target, or
+	 * sharedTitles.length
+	 */
+	private int sharedLowerBound(String target) {
+		int low = 0;
+		int high = sharedTitles.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			String key = titleKeys[sharedTitles[mid]];
+			int length = sharedLengths[mid];
+			int compare = length - target.length();
+			for (int i = 0; i < Math.min(length, target.length()); i++) {
+				if (key.charAt(i) != target.charAt(i)) {
+					compare = key.charAt(i) - target.charAt(i);
+					break;
+				}
+			}
+			if (compare < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
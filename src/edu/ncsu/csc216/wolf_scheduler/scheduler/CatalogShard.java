@@ -0,0 +1,94 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * The courses of one department in a catalog, with a search index and a meeting time
+ * index over only those courses. A department is the letters at the start of a course
+ * name, such as CSC for CSC 216. The shard refers to the courses by their positions in
+ * the whole catalog, so results from several shards can be merged directly. The shard
+ * is built once and never changes.
+ *
+ * @author Daniela Deleon
+ */
+public final class CatalogShard {
+
+	/** The department letters */
+	private final String department;
+	/** Catalog positions of the department's courses, in catalog order */
+	private final int[] positions;
+	/** Prefix index over the department's course names and titles */
+	private final CatalogSearchIndex searchIndex;
+	/** Per day index over the department's meeting times */
+	private final MeetingTimeIndex meetingTimeIndex;
+
+	/**
+	 * Builds the shard and its indexes
+	 * @param department the department letters
+	 * @param catalog the catalog the courses are in
+	 * @param positions the catalog positions of the department's courses, in catalog order
+	 */
+	public CatalogShard(String department, CourseCatalog catalog, int[] positions) {
+		this.department = department;
+		this.positions = positions;
+		searchIndex = new CatalogSearchIndex(catalog, positions);
+		meetingTimeIndex = new MeetingTimeIndex(catalog, positions);
+	}
+
+	/**
+	 * Returns the department of a course name, which is the letters before the number
+	 * @param name the course name
+	 * @return the department letters
+	 */
+	public static String departmentOf(String name) {
+		int end = 0;
+		while (end < name.length() && Character.isLetter(name.charAt(end))) {
+			end++;
+		}
+		return name.substring(0, end);
+	}
+
+	/**
+	 * Returns the department letters
+	 * @return the department
+	 */
+	public String getDepartment() {
+		return department;
+	}
+
+	/**
+	 * Returns the number of courses in the department
+	 * @return the number of courses
+	 */
+	public int size() {
+		return positions.length;
+	}
+
+	/**
+	 * Returns the catalog positions of the department's courses
+	 * @return a copy of the positions in catalog order
+	 */
+	public int[] getPositions() {
+		return positions.clone();
+	}
+
+	/**
+	 * Returns the prefix index over the department's course names and titles
+	 * @return the search index
+	 */
+	public CatalogSearchIndex getSearchIndex() {
+		return searchIndex;
+	}
+
+	/**
+	 * Returns the per day index over the department's meeting times
+	 * @return the meeting time index
+	 */
+	public MeetingTimeIndex getMeetingTimeIndex() {
+		return meetingTimeIndex;
+	}
+
+}
@@ -0,0 +1,395 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * One immutable version of the course catalog together with the indexes built over it.
+ * Everything is built in the constructor and never changes afterward, so a snapshot can
+ * be read by any number of threads without locking. Reloading the catalog builds a new
+ * snapshot and publishes it in place of the old one; readers that already hold the old
+ * snapshot keep a consistent view of it until they are done.
+ * 
+ * The search and meeting time indexes are split into one CatalogShard per department.
+ * A department query uses only its own shard. A query across the whole catalog runs on
+ * every shard, in parallel on the common ForkJoinPool once the catalog is large enough
+ * to be worth it, and the shard results are merged into the order a single index over
+ * the catalog would give.
+ *
+ * @author Daniela Deleon
+ */
+public final class CatalogSnapshot {
+
+	/** Smallest catalog whose queries are run on the shards in parallel */
+	private static final int PARALLEL_THRESHOLD = 1 << 15;
+	/** The catalog courses */
+	private final CourseCatalog catalog;
+	/** The department shards, in department order */
+	private final CatalogShard[] shards;
+	/** The department shards by department */
+	private final HashMap<String, CatalogShard> shardsByDepartment;
+	/** Catalog positions of the courses taught by each instructor, in catalog order */
+	private final HashMap<String, int[]> instructorIndex;
+	/** Instructor ids in alphabetical order */
+	private final String[] instructorIds;
+	/** Precomputed conflicts between the catalog sections */
+	private final ConflictIndex conflictIndex;
+
+	/**
+	 * Builds a snapshot of the given catalog and all of its indexes
+	 * @param catalog the catalog courses
+	 */
+	public CatalogSnapshot(CourseCatalog catalog) {
+		this.catalog = catalog;
+		shards = buildShards(catalog);
+		shardsByDepartment = new HashMap<>(shards.length * 4 / 3 + 1);
+		for (CatalogShard shard : shards) {
+			shardsByDepartment.put(shard.getDepartment(), shard);
+		}
+		instructorIndex = indexInstructors(catalog);
+
+		String[] ids = instructorIndex.keySet().toArray(new String[0]);
+		Arrays.sort(ids);
+		instructorIds = ids;
+		conflictIndex = new ConflictIndex(catalog);
+	}
+
+	/**
+	 * Splits a catalog into department shards. The shard indexes are built in parallel
+	 * for a large catalog.
+	 * @param catalog the catalog to split
+	 * @return the shards in department order
+	 */
+	private static CatalogShard[] buildShards(CourseCatalog catalog) {
+		TreeMap<String, ArrayList<Integer>> departments = new TreeMap<>();
+		for (int i = 0; i < catalog.size(); i++) {
+			departments.computeIfAbsent(CatalogShard.departmentOf(catalog.getName(i)), d -> new ArrayList<>()).add(i);
+		}
+
+		ArrayList<String> names = new ArrayList<>(departments.keySet());
+		ArrayList<CatalogShard> built = runAll(names, catalog.size(), department -> {
+			ArrayList<Integer> list = departments.get(department);
+			int[] positions = new int[list.size()];
+			for (int i = 0; i < positions.length; i++) {
+				positions[i] = list.get(i);
+			}
+			return new CatalogShard(department, catalog, positions);
+		});
+		return built.toArray(new CatalogShard[0]);
+	}
+
+	/**
+	 * Applies a function to each item and returns the results in the same order. The
+	 * items are run as separate tasks on the common ForkJoinPool when there are several
+	 * of them and the catalog is large enough, and one after another otherwise.
+	 * @param <T> the type of the items
+	 * @param <R> the type of the results
+	 * @param items the items to apply the function to
+	 * @param catalogSize the number of courses in the catalog
+	 * @param function the function to apply
+	 * @return the result for each item
+	 */
+	private static <T, R> ArrayList<R> runAll(ArrayList<T> items, int catalogSize, Function<T, R> function) {
+		ArrayList<R> results = new ArrayList<>(items.size());
+		if (items.size() < 2 || catalogSize < PARALLEL_THRESHOLD) {
+			for (T item : items) {
+				results.add(function.apply(item));
+			}
+			return results;
+		}
+
+		ForkJoinPool workers = ForkJoinPool.commonPool();
+		ArrayList<ForkJoinTask<R>> tasks = new ArrayList<>(items.size());
+		for (T item : items) {
+			tasks.add(workers.submit(() -> function.apply(item)));
+		}
+		for (ForkJoinTask<R> task : tasks) {
+			results.add(task.join());
+		}
+		return results;
+	}
+
+	/**
+	 * Runs a query on every shard
+	 * @param <R> the type of the query results
+	 * @param query the query to run
+	 * @return the result from each shard, in department order
+	 */
+	private <R> ArrayList<R> fanOut(Function<CatalogShard, R> query) {
+		return runAll(new ArrayList<>(Arrays.asList(shards)), catalog.size(), query);
+	}
+
+	/**
+	 * Builds the instructor index for a catalog
+	 * @param courses the catalog to index
+	 * @return the catalog positions of the courses taught by each instructor, in catalog order
+	 */
+	private static HashMap<String, int[]> indexInstructors(CourseCatalog courses) {
+		HashMap<String, ArrayList<Integer>> positions = new HashMap<>();
+		for (int i = 0; i < courses.size(); i++) {
+			positions.computeIfAbsent(courses.getInstructorId(i), id -> new ArrayList<>()).add(i);
+		}
+
+		//Store each instructor's positions as an int array
+		HashMap<String, int[]> index = new HashMap<>(positions.size() * 4 / 3 + 1);
+		for (String id : positions.keySet()) {
+			ArrayList<Integer> list = positions.get(id);
+			int[] array = new int[list.size()];
+			for (int i = 0; i < array.length; i++) {
+				array[i] = list.get(i);
+			}
+			index.put(id, array);
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the catalog courses
+	 * @return the catalog
+	 */
+	public CourseCatalog getCatalog() {
+		return catalog;
+	}
+
+	/**
+	 * Returns the precomputed conflicts between the catalog sections
+	 * @return the conflict index
+	 */
+	public ConflictIndex getConflictIndex() {
+		return conflictIndex;
+	}
+
+	/**
+	 * Returns the departments with courses in the catalog
+	 * @return the departments in alphabetical order
+	 */
+	public String[] getDepartments() {
+		String[] departments = new String[shards.length];
+		for (int i = 0; i < shards.length; i++) {
+			departments[i] = shards[i].getDepartment();
+		}
+		return departments;
+	}
+
+	/**
+	 * Returns the shard for a department
+	 * @param department the department letters
+	 * @return the shard, or null if the department has no courses
+	 */
+	public CatalogShard getShard(String department) {
+		return shardsByDepartment.get(department);
+	}
+
+	/**
+	 * Returns one page of the courses in the whole catalog whose name or title starts
+	 * with the prefix, in the ranked order of CatalogSearchIndex.search(). Each shard
+	 * returns its best matches up to the end of the page, and those are merged.
+	 * @param prefix the start of the course name or title
+	 * @param offset the number of ranked matches to skip
+	 * @param limit the largest number of matches to return
+	 * @return the catalog positions of the matching courses
+	 */
+	public int[] search(String prefix, int offset, int limit) {
+		int needed = (int) Math.min((long) offset + limit, catalog.size());
+		int[] matches = concat(fanOut(shard -> shard.getSearchIndex().search(prefix, 0, needed)));
+
+		//Compute each rank key once, then sort the matches by key and position
+		String[] keys = new String[matches.length];
+		Integer[] order = new Integer[matches.length];
+		for (int i = 0; i < matches.length; i++) {
+			keys[i] = CatalogSearchIndex.rankKey(catalog, prefix, matches[i]);
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> {
+			int compare = keys[a].compareTo(keys[b]);
+			return compare != 0 ? compare : Integer.compare(matches[a], matches[b]);
+		});
+
+		int count = Math.max(0, Math.min(limit, matches.length - offset));
+		int[] page = new int[count];
+		for (int i = 0; i < count; i++) {
+			page[i] = matches[order[offset + i]];
+		}
+		return page;
+	}
+
+	/**
+	 * Returns the number of courses in the whole catalog whose name or title starts with
+	 * the prefix
+	 * @param prefix the start of the course name or title
+	 * @return the number of matching courses
+	 */
+	public int count(String prefix) {
+		int count = 0;
+		for (int shardCount : fanOut(shard -> shard.getSearchIndex().count(prefix))) {
+			count += shardCount;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the courses in the whole catalog that meet on the given day entirely within
+	 * the time window
+	 * @param day the meeting day letter
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the catalog positions of the courses in catalog order
+	 * @throws IllegalArgumentException if day is not one of MTWHFSU
+	 */
+	public int[] meetingWithin(char day, int startTime, int endTime) {
+		if (Activity.DAY_LETTERS.indexOf(day) < 0) {
+			throw new IllegalArgumentException("Invalid meeting day.");
+		}
+		return merge(fanOut(shard -> shard.getMeetingTimeIndex().meetingWithin(day, startTime, endTime)));
+	}
+
+	/**
+	 * Returns the courses in the whole catalog whose meeting times overlap the activity
+	 * @param activity the activity to compare against
+	 * @return the catalog positions of the courses in catalog order
+	 */
+	public int[] overlapping(Activity activity) {
+		return merge(fanOut(shard -> shard.getMeetingTimeIndex().overlapping(activity)));
+	}
+
+	/**
+	 * Merges the catalog positions found in each shard into catalog order. Each shard's
+	 * positions are already in order, so pairs of lists are merged until one is left.
+	 * The shards hold different courses, so no position is found twice.
+	 * @param found the positions from each shard, each in catalog order
+	 * @return all of the positions in catalog order
+	 */
+	private static int[] merge(ArrayList<int[]> found) {
+		if (found.isEmpty()) {
+			return new int[0];
+		}
+		while (found.size() > 1) {
+			ArrayList<int[]> merged = new ArrayList<>((found.size() + 1) / 2);
+			for (int i = 0; i + 1 < found.size(); i += 2) {
+				merged.add(mergePair(found.get(i), found.get(i + 1)));
+			}
+			if (found.size() % 2 == 1) {
+				merged.add(found.get(found.size() - 1));
+			}
+			found = merged;
+		}
+		return found.get(0);
+	}
+
+	/**
+	 * Merges two lists of positions that are each in increasing order
+	 * @param first one list of positions
+	 * @param second the other list of positions
+	 * @return the positions of both lists in increasing order
+	 */
+	private static int[] mergePair(int[] first, int[] second) {
+		int[] merged = new int[first.length + second.length];
+		int i = 0;
+		int j = 0;
+		for (int k = 0; k < merged.length; k++) {
+			if (j == second.length || (i < first.length && first[i] < second[j])) {
+				merged[k] = first[i++];
+			} else {
+				merged[k] = second[j++];
+			}
+		}
+		return merged;
+	}
+
+	/**
+	 * Joins the positions found in each shard into one array, in shard order
+	 * @param found the positions from each shard
+	 * @return all of the positions
+	 */
+	private static int[] concat(ArrayList<int[]> found) {
+		int total = 0;
+		for (int[] positions : found) {
+			total += positions.length;
+		}
+		int[] all = new int[total];
+		int count = 0;
+		for (int[] positions : found) {
+			System.arraycopy(positions, 0, all, count, positions.length);
+			count += positions.length;
+		}
+		return all;
+	}
+
+	/**
+	 * Returns the catalog positions of every section of the named course. Only the
+	 * course's department is searched, and the name must match exactly.
+	 * @param name the course name, such as CSC 216
+	 * @return the positions in catalog order, empty if the course is not in the catalog
+	 */
+	public int[] getSectionPositions(String name) {
+		CatalogShard shard = getShard(CatalogShard.departmentOf(name));
+		if (shard == null) {
+			return new int[0];
+		}
+		CatalogSearchIndex index = shard.getSearchIndex();
+		int[] matches = index.search(name, 0, index.count(name));
+		int count = 0;
+		for (int position : matches) {
+			if (catalog.nameEquals(position, name)) {
+				matches[count++] = position;
+			}
+		}
+		int[] positions = Arrays.copyOf(matches, count);
+		Arrays.sort(positions);
+		return positions;
+	}
+
+	/**
+	 * Returns the catalog positions of the courses taught by the given instructor
+	 * @param instructorId the unity id of the instructor
+	 * @return a copy of the positions in catalog order, empty if they teach none
+	 */
+	public int[] getInstructorPositions(String instructorId) {
+		int[] positions = instructorIndex.get(instructorId);
+		return positions == null ? new int[0] : positions.clone();
+	}
+
+	/**
+	 * Returns the number of catalog courses taught by the given instructor
+	 * @param instructorId the unity id of the instructor
+	 * @return the number of courses the instructor teaches
+	 */
+	public int getInstructorCourseCount(String instructorId) {
+		int[] positions = instructorIndex.get(instructorId);
+		return positions == null ? 0 : positions.length;
+	}
+
+	/**
+	 * Returns the ids of every instructor teaching a course in the catalog
+	 * @return a copy of the instructor ids in alphabetical order
+	 */
+	public String[] getInstructorIds() {
+		return instructorIds.clone();
+	}
+
+	/**
+	 * Returns the rows for the given catalog positions, with the same columns as
+	 * WolfScheduler.getCourseCatalog()
+	 * @param positions the catalog positions to convert
+	 * @return the 2D array with one row for each position
+	 */
+	public String[][] toShortDisplayArray(int[] positions) {
+		String[][] courseArray = new String[positions.length][];
+		for (int i = 0; i < positions.length; i++) {
+			courseArray[i] = catalog.getShortDisplayArray(positions[i]);
+		}
+		return courseArray;
+	}
+
+}
@@ -0,0 +1,112 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a single catalog file with a WatchService on a background daemon thread and
+ * runs a callback after the file is created or modified. Editors and copy tools often
+ * write a file in several steps, so the callback waits until the file has been quiet
+ * for a short time and then runs once for the whole burst of changes.
+ * 
+ * @author Daniela Deleon
+ */
+public class CatalogWatcher implements Closeable {
+
+	/** Milliseconds the file must go without changes before the callback runs */
+	private static final long QUIET_MILLIS = 250;
+	/** Service notified of changes in the catalog's directory */
+	private WatchService watchService;
+	/** Name of the catalog file within its directory */
+	private Path fileName;
+	/** Callback run after the catalog changes */
+	private Runnable onChange;
+	/** Background thread waiting for changes */
+	private Thread thread;
+
+	/**
+	 * Starts watching the given catalog file
+	 * @param catalogFile the catalog file to watch
+	 * @param onChange callback run on the watcher thread after the file changes
+	 * @throws IOException if the file's directory cannot be watched
+	 */
+	public CatalogWatcher(String catalogFile, Runnable onChange) throws IOException {
+		Path path = Paths.get(catalogFile).toAbsolutePath();
+		this.fileName = path.getFileName();
+		this.onChange = onChange;
+		
+		//Changes are reported per directory, so watch the directory and filter by name
+		watchService = FileSystems.getDefault().newWatchService();
+		path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+		
+		thread = new Thread(this::watch, "catalog-watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Waits for changes to the catalog file until the watcher is closed
+	 */
+	private void watch() {
+		try {
+			while (true) {
+				//Block until something in the directory changes
+				if (!isCatalogChange(watchService.take())) {
+					continue;
+				}
+				
+				//Let the rest of the write finish before running the callback
+				WatchKey key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+				while (key != null) {
+					isCatalogChange(key);
+					key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+				}
+				onChange.run();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			//The watcher was closed
+		}
+	}
+
+	/**
+	 * Returns true if any event on the key is for the catalog file, and resets the key so
+	 * it reports later events
+	 * @param key the key with pending events
+	 * @return true if the catalog file changed
+	 */
+	private boolean isCatalogChange(WatchKey key) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			//An overflow means events were lost, so the catalog may have changed
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+
+	/**
+	 * Stops watching the catalog file
+	 * @throws IOException if the watch service cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		thread.interrupt();
+		watchService.close();
+	}
+
+}
@@ -0,0 +1,262 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * Precomputed conflicts between the sections of a course catalog. Sections with the same
+ * meeting days and times conflict with exactly the same sections, so the catalog is
+ * reduced to its distinct meeting patterns, and each pattern gets a BitSet of the
+ * patterns it conflicts with. A catalog has far fewer patterns than sections, so the
+ * sets stay small even for millions of sections. The sets are built with a sweep over
+ * the patterns sorted by start time, split across the common ForkJoinPool for large
+ * catalogs. Whether a section conflicts with a schedule is then one bit lookup in the
+ * union of the scheduled activities' sets. Conflicts use the same test as
+ * Activity.overlaps(). The index is built once and never changes.
+ *
+ * @author Daniela Deleon
+ */
+public final class ConflictIndex {
+
+	/** Largest number of patterns whose conflict sets are built ahead of time */
+	private static final int MAX_PRECOMPUTED_PATTERNS = 1 << 14;
+	/** Smallest number of patterns whose conflict sets are built in parallel */
+	private static final int PARALLEL_THRESHOLD = 1 << 10;
+	/** Number of patterns whose sets are built by each parallel task */
+	private static final int ROWS_PER_TASK = 256;
+	/** Pattern of each catalog section */
+	private final int[] patternOf;
+	/** Pattern ids by meeting days and times */
+	private final HashMap<Long, Integer> patternIds;
+	/** Day mask of each pattern */
+	private final int[] masks;
+	/** Start time of each pattern */
+	private final int[] starts;
+	/** End time of each pattern */
+	private final int[] ends;
+	/** Pattern ids in start time order */
+	private final int[] byStart;
+	/** Start times in sorted order, matching byStart */
+	private final int[] sortedStarts;
+	/** Longest pattern, as end time minus start time */
+	private final int longest;
+	/** Conflicting patterns for each pattern, or null if there are too many patterns */
+	private final BitSet[] conflicts;
+
+	/**
+	 * Builds the index for the given catalog
+	 * @param catalog the catalog to index
+	 */
+	public ConflictIndex(CourseCatalog catalog) {
+		//Give each distinct meeting pattern an id
+		patternOf = new int[catalog.size()];
+		patternIds = new HashMap<>();
+		int[] patternMasks = new int[Math.min(catalog.size(), 16)];
+		int[] patternStarts = new int[patternMasks.length];
+		int[] patternEnds = new int[patternMasks.length];
+		for (int i = 0; i < catalog.size(); i++) {
+			int mask = catalog.getMeetingDaysMask(i);
+			int start = catalog.getStartTime(i);
+			int end = catalog.getEndTime(i);
+			Integer id = patternIds.get(patternKey(mask, start, end));
+			if (id == null) {
+				id = patternIds.size();
+				patternIds.put(patternKey(mask, start, end), id);
+				if (id == patternMasks.length) {
+					patternMasks = Arrays.copyOf(patternMasks, id * 2);
+					patternStarts = Arrays.copyOf(patternStarts, id * 2);
+					patternEnds = Arrays.copyOf(patternEnds, id * 2);
+				}
+				patternMasks[id] = mask;
+				patternStarts[id] = start;
+				patternEnds[id] = end;
+			}
+			patternOf[i] = id;
+		}
+		int count = patternIds.size();
+		masks = Arrays.copyOf(patternMasks, count);
+		starts = Arrays.copyOf(patternStarts, count);
+		ends = Arrays.copyOf(patternEnds, count);
+
+		//Sort the patterns by start time for the sweep
+		long[] entries = new long[count];
+		int longestPattern = 0;
+		for (int p = 0; p < count; p++) {
+			entries[p] = (long) starts[p] << 32 | p;
+			longestPattern = Math.max(longestPattern, ends[p] - starts[p]);
+		}
+		Arrays.sort(entries);
+		byStart = new int[count];
+		sortedStarts = new int[count];
+		for (int k = 0; k < count; k++) {
+			byStart[k] = (int) entries[k];
+			sortedStarts[k] = starts[byStart[k]];
+		}
+		longest = longestPattern;
+
+		conflicts = count <= MAX_PRECOMPUTED_PATTERNS ? buildConflicts() : null;
+	}
+
+	/**
+	 * Builds the conflict set of every pattern. Each task builds the sets for its own
+	 * range of patterns, so no set is written by two threads.
+	 * @return the conflicting patterns for each pattern
+	 */
+	private BitSet[] buildConflicts() {
+		BitSet[] rows = new BitSet[masks.length];
+		if (rows.length < PARALLEL_THRESHOLD) {
+			buildRows(rows, 0, rows.length);
+			return rows;
+		}
+
+		ForkJoinPool workers = ForkJoinPool.commonPool();
+		ArrayList<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (int from = 0; from < rows.length; from += ROWS_PER_TASK) {
+			final int start = from;
+			final int end = Math.min(rows.length, from + ROWS_PER_TASK);
+			tasks.add(workers.submit(() -> buildRows(rows, start, end)));
+		}
+		for (ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+		return rows;
+	}
+
+	/**
+	 * Builds the conflict sets for a range of patterns
+	 * @param rows the conflict sets to fill in
+	 * @param from the first pattern to build
+	 * @param to the pattern after the last one to build
+	 */
+	private void buildRows(BitSet[] rows, int from, int to) {
+		for (int p = from; p < to; p++) {
+			rows[p] = sweep(masks[p], starts[p], ends[p]);
+		}
+	}
+
+	/**
+	 * Finds the patterns that conflict with the given meeting days and times. Only the
+	 * patterns starting between the longest pattern before the start time and the end
+	 * time can overlap it, and they are one range of the sorted start times.
+	 * @param mask the day mask
+	 * @param start the start time
+	 * @param end the end time
+	 * @return the conflicting patterns
+	 */
+	private BitSet sweep(int mask, int start, int end) {
+		BitSet row = new BitSet(masks.length);
+		if (mask == 0) {
+			return row;
+		}
+		int to = lowerBound(sortedStarts, end + 1);
+		for (int k = lowerBound(sortedStarts, start - longest); k < to; k++) {
+			int q = byStart[k];
+			if (Activity.overlaps(mask, start, end, masks[q], starts[q], ends[q])) {
+				row.set(q);
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Returns the conflicting patterns for the given meeting days and times. A pattern
+	 * in the catalog uses its precomputed set, and any other pattern is swept.
+	 * @param mask the day mask
+	 * @param start the start time
+	 * @param end the end time
+	 * @return the conflicting patterns, which must not be changed
+	 */
+	private BitSet conflictsOf(int mask, int start, int end) {
+		Integer id = patternIds.get(patternKey(mask, start, end));
+		if (id != null && conflicts != null) {
+			return conflicts[id];
+		}
+		return sweep(mask, start, end);
+	}
+
+	/**
+	 * Returns the number of distinct meeting patterns in the catalog
+	 * @return the number of patterns
+	 */
+	public int getPatternCount() {
+		return masks.length;
+	}
+
+	/**
+	 * Returns true if the two catalog sections conflict
+	 * @param first the catalog position of one section
+	 * @param second the catalog position of the other section
+	 * @return true if their meeting times overlap
+	 */
+	public boolean conflicts(int first, int second) {
+		int p = patternOf[first];
+		return conflictsOf(masks[p], starts[p], ends[p]).get(patternOf[second]);
+	}
+
+	/**
+	 * Returns the patterns that conflict with at least one of the activities, as the
+	 * union of their conflict sets. Activities do not need to be in the catalog.
+	 * @param activities the activities, such as a schedule
+	 * @return the conflicting patterns, to pass to conflicts(int, BitSet)
+	 */
+	public BitSet conflictsWith(List<? extends Activity> activities) {
+		BitSet union = new BitSet(masks.length);
+		for (Activity activity : activities) {
+			union.or(conflictsOf(activity.getMeetingDaysMask(), activity.getStartTime(), activity.getEndTime()));
+		}
+		return union;
+	}
+
+	/**
+	 * Returns true if the catalog section is in a set returned by conflictsWith()
+	 * @param position the catalog position of the section
+	 * @param conflicting the conflicting patterns
+	 * @return true if the section conflicts with one of the activities
+	 */
+	public boolean conflicts(int position, BitSet conflicting) {
+		return conflicting.get(patternOf[position]);
+	}
+
+	/**
+	 * Returns the key of a meeting pattern
+	 * @param mask the day mask
+	 * @param start the start time
+	 * @param end the end time
+	 * @return the key
+	 */
+	private static Long patternKey(int mask, int start, int end) {
+		return (long) mask << 32 | start << 16 | end;
+	}
+
+	/**
+	 * Returns the position of the first value that is not less than the target
+	 * @param values the sorted values to search
+	 * @param target the value to search for
+	 * @return the position of the first value not less than target, or values.length
+	 */
+	private static int lowerBound(int[] values, int target) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < target) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
@@ -0,0 +1,220 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * Index over the meeting times of a course catalog, with one sorted endpoint array for
+ * each day of the week. The sections meeting on a day are sorted by start time, so the
+ * sections starting inside a time window are one range found with a binary search.
+ * The longest section on each day is also recorded, which bounds how early a section
+ * overlapping a window can start, so overlap queries only look at a short range too.
+ * Arranged sections have no meeting times and are not indexed. Meeting times overlap
+ * when they share a day and neither ends before the other starts, so sections that
+ * touch at an endpoint overlap. An index may cover only some of the catalog, such as
+ * one department. The index is built once and never changes.
+ *
+ * @author Daniela Deleon
+ */
+public class MeetingTimeIndex {
+
+	/** Meeting day letters, in the order of the per day arrays */
+	private static final String DAYS = Activity.DAY_LETTERS;
+	/** The indexed catalog */
+	private final CourseCatalog courses;
+	/** Start times of the sections meeting on each day, in sorted order */
+	private final int[][] starts;
+	/** End times of the sections meeting on each day, in start time order */
+	private final int[][] ends;
+	/** Catalog positions of the sections meeting on each day, in start time order */
+	private final int[][] positions;
+	/** Longest section on each day, as end time minus start time */
+	private final int[] longest;
+
+	/**
+	 * Builds the index for the given catalog
+	 * @param courses the catalog to index
+	 */
+	public MeetingTimeIndex(CourseCatalog courses) {
+		this(courses, null);
+	}
+
+	/**
+	 * Builds the index for some of the courses in the given catalog
+	 * @param courses the catalog the courses are in
+	 * @param subset the catalog positions of the courses to index in increasing order, or
+	 * null for all of them
+	 */
+	public MeetingTimeIndex(CourseCatalog courses, int[] subset) {
+		this.courses = courses;
+		int count = subset == null ? courses.size() : subset.length;
+		starts = new int[DAYS.length()][];
+		ends = new int[DAYS.length()][];
+		positions = new int[DAYS.length()][];
+		longest = new int[DAYS.length()];
+
+		for (int day = 0; day < DAYS.length(); day++) {
+			//Collect the sections meeting on this day, packed as start time then position
+			long[] entries = new long[count];
+			int meeting = 0;
+			for (int j = 0; j < count; j++) {
+				int i = subset == null ? j : subset[j];
+				if ((courses.getMeetingDaysMask(i) & (1 << day)) != 0) {
+					entries[meeting++] = (long) courses.getStartTime(i) << 32 | i;
+				}
+			}
+			Arrays.sort(entries, 0, meeting);
+
+			starts[day] = new int[meeting];
+			ends[day] = new int[meeting];
+			positions[day] = new int[meeting];
+			for (int i = 0; i < meeting; i++) {
+				int position = (int) entries[i];
+				starts[day][i] = courses.getStartTime(position);
+				ends[day][i] = courses.getEndTime(position);
+				positions[day][i] = position;
+				longest[day] = Math.max(longest[day], ends[day][i] - starts[day][i]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the sections that meet on the given day entirely within the time window,
+	 * in catalog order
+	 * @param day the meeting day letter
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the catalog positions of the sections meeting on the day within the window
+	 * @throws IllegalArgumentException if day is not one of MTWHFSU
+	 */
+	public int[] meetingWithin(char day, int startTime, int endTime) {
+		int d = dayIndex(day);
+
+		//Sections starting in the window are one range; keep those ending in it too
+		int start = lowerBound(starts[d], startTime);
+		int end = lowerBound(starts[d], endTime + 1);
+		int[] found = new int[Math.max(0, end - start)];
+		int count = 0;
+		for (int i = start; i < end; i++) {
+			if (ends[d][i] <= endTime) {
+				found[count++] = positions[d][i];
+			}
+		}
+		return toPositions(found, count);
+	}
+
+	/**
+	 * Returns the sections that meet on at least one of the given days at a time
+	 * overlapping the window, in catalog order
+	 * @param meetingDays the meeting day letters
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the catalog positions of the sections overlapping the window
+	 */
+	public int[] overlapping(String meetingDays, int startTime, int endTime) {
+		int[] found = new int[0];
+		int count = 0;
+
+		int mask = Activity.toDayMask(meetingDays);
+		for (int d = 0; d < DAYS.length(); d++) {
+			if ((mask & (1 << d)) == 0) {
+				continue;
+			}
+
+			//An overlapping section ends at or after startTime, so it cannot start
+			//more than the longest section before it
+			int from = lowerBound(starts[d], startTime - longest[d]);
+			int to = lowerBound(starts[d], endTime + 1);
+			if (count + to - from > found.length) {
+				found = Arrays.copyOf(found, count + to - from);
+			}
+			for (int i = from; i < to; i++) {
+				if (ends[d][i] >= startTime) {
+					found[count++] = positions[d][i];
+				}
+			}
+		}
+		return toPositions(found, count);
+	}
+
+	/**
+	 * Returns the sections whose meeting times overlap the given activity, in catalog
+	 * order. A course is never reported as overlapping itself, so the catalog section
+	 * with the same name and section as a course is left out.
+	 * @param activity the activity to compare against
+	 * @return the catalog positions of the sections overlapping the activity
+	 */
+	public int[] overlapping(Activity activity) {
+		int[] matches = overlapping(activity.getMeetingDays(), activity.getStartTime(), activity.getEndTime());
+		if (!(activity instanceof Course)) {
+			return matches;
+		}
+		
+		int self = courses.indexOf(((Course) activity).getName(), ((Course) activity).getSection());
+		int count = 0;
+		for (int position : matches) {
+			if (position != self) {
+				matches[count++] = position;
+			}
+		}
+		return Arrays.copyOf(matches, count);
+	}
+
+	/**
+	 * Returns the per day array index for a meeting day letter
+	 * @param day the meeting day letter
+	 * @return the index of the day
+	 * @throws IllegalArgumentException if day is not one of MTWHFSU
+	 */
+	private static int dayIndex(char day) {
+		int d = DAYS.indexOf(day);
+		if (d < 0) {
+			throw new IllegalArgumentException("Invalid meeting day.");
+		}
+		return d;
+	}
+
+	/**
+	 * Sorts catalog positions into catalog order, dropping repeats
+	 * @param found the catalog positions
+	 * @param count the number of positions in found
+	 * @return the distinct positions in order
+	 */
+	private static int[] toPositions(int[] found, int count) {
+		Arrays.sort(found, 0, count);
+		int distinct = 0;
+		for (int i = 0; i < count; i++) {
+			if (i == 0 || found[i] != found[distinct - 1]) {
+				found[distinct++] = found[i];
+			}
+		}
+		return Arrays.copyOf(found, distinct);
+	}
+
+	/**
+	 * Returns the position of the first value that is not less than the target
+	 * @param values the sorted values to search
+	 * @param target the value to search for
+	 * @return the position of the first value not less than target, or values.length
+	 */
+	private static int lowerBound(int[] values, int target) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < target) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
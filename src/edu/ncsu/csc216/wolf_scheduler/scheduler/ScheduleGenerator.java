@@ -0,0 +1,152 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * Finds the combinations of catalog sections, one for each wanted course, that have no
+ * time conflicts. The search picks a section for each course in turn and backtracks.
+ * After a section is picked, the sections of every later course that conflict with it
+ * are filtered out, so a dead end is found as soon as some later course has no section
+ * left, rather than after every course is picked. Two sections with the same title
+ * cannot be in one schedule, the same as Course.isDuplicate(). Schedules are found in
+ * order of the first course's sections, then the second course's, and so on.
+ *
+ * @author Daniela Deleon
+ */
+public final class ScheduleGenerator {
+
+	/** Day mask of each course's sections */
+	private final int[][] masks;
+	/** Start time of each course's sections */
+	private final int[][] starts;
+	/** End time of each course's sections */
+	private final int[][] ends;
+	/** Catalog title id of each course's sections */
+	private final int[][] titles;
+	/** Catalog position of each course's sections */
+	private final int[][] positions;
+	/** Sections of each course still allowed at each depth, by depth then course */
+	private final int[][][] allowed;
+	/** Number of sections in allowed, by depth then course */
+	private final int[][] allowedCounts;
+	/** Section picked for each course so far */
+	private final int[] picked;
+	/** Schedules found so far, as catalog positions */
+	private final List<int[]> schedules = new ArrayList<>();
+	/** Largest number of schedules to find */
+	private int limit;
+
+	/**
+	 * Sets up a search over the given sections
+	 * @param catalog the catalog the sections are in
+	 * @param sections the catalog positions of each wanted course's sections
+	 */
+	public ScheduleGenerator(CourseCatalog catalog, int[][] sections) {
+		int courses = sections.length;
+		masks = new int[courses][];
+		starts = new int[courses][];
+		ends = new int[courses][];
+		titles = new int[courses][];
+		positions = new int[courses][];
+		allowed = new int[courses][courses][];
+		allowedCounts = new int[courses][courses];
+		picked = new int[courses];
+
+		//Read each section's meeting times and title id once
+		for (int c = 0; c < courses; c++) {
+			int count = sections[c].length;
+			positions[c] = sections[c].clone();
+			masks[c] = new int[count];
+			starts[c] = new int[count];
+			ends[c] = new int[count];
+			titles[c] = new int[count];
+			for (int s = 0; s < count; s++) {
+				masks[c][s] = catalog.getMeetingDaysMask(positions[c][s]);
+				starts[c][s] = catalog.getStartTime(positions[c][s]);
+				ends[c][s] = catalog.getEndTime(positions[c][s]);
+				titles[c][s] = catalog.getTitleId(positions[c][s]);
+			}
+			for (int d = 0; d < courses; d++) {
+				allowed[d][c] = new int[count];
+			}
+			for (int s = 0; s < count; s++) {
+				allowed[0][c][s] = s;
+			}
+			allowedCounts[0][c] = count;
+		}
+	}
+
+	/**
+	 * Finds schedules with one section of each course and no conflicts
+	 * @param maxSchedules the largest number of schedules to find
+	 * @return the schedules, each with the catalog positions of its sections in course order
+	 */
+	public List<int[]> generate(int maxSchedules) {
+		schedules.clear();
+		limit = maxSchedules;
+		if (picked.length > 0) {
+			pick(0);
+		}
+		return new ArrayList<>(schedules);
+	}
+
+	/**
+	 * Tries each allowed section of one course, then searches the later courses
+	 * @param course the course to pick a section for
+	 */
+	private void pick(int course) {
+		int last = picked.length - 1;
+		int[] candidates = allowed[course][course];
+		for (int i = 0; i < allowedCounts[course][course] && schedules.size() < limit; i++) {
+			int section = candidates[i];
+			picked[course] = section;
+			if (course == last) {
+				int[] schedule = new int[picked.length];
+				for (int c = 0; c < picked.length; c++) {
+					schedule[c] = positions[c][picked[c]];
+				}
+				schedules.add(schedule);
+			} else if (filter(course, section)) {
+				pick(course + 1);
+			}
+		}
+	}
+
+	/**
+	 * Keeps the sections of each later course that can go with the picked section
+	 * @param course the course the section was picked for
+	 * @param section the picked section
+	 * @return false if some later course has no sections left
+	 */
+	private boolean filter(int course, int section) {
+		int mask = masks[course][section];
+		int start = starts[course][section];
+		int end = ends[course][section];
+		int title = titles[course][section];
+		for (int c = course + 1; c < picked.length; c++) {
+			int[] from = allowed[course][c];
+			int[] to = allowed[course + 1][c];
+			int count = 0;
+			for (int i = 0; i < allowedCounts[course][c]; i++) {
+				int s = from[i];
+				if (!Activity.overlaps(mask, start, end, masks[c][s], starts[c][s], ends[c][s])
+						&& title != titles[c][s]) {
+					to[count++] = s;
+				}
+			}
+			if (count == 0) {
+				return false;
+			}
+			allowedCounts[course + 1][c] = count;
+		}
+		return true;
+	}
+
+}
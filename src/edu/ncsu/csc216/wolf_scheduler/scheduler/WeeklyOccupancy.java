@@ -0,0 +1,137 @@
+/**
+ * 
+ */
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Bitmap of the minutes of the week taken by the activities in a schedule, with one bit
+ * for each minute from Monday through Sunday packed into a long array. An activity takes
+ * every minute from its start through its end on each of its meeting days, so two
+ * activities share a bit exactly when Activity.overlaps() is true for them. Checking a
+ * new activity only reads the words its meeting times cover. The bitmap is changed as
+ * the schedule changes, and is not thread safe on its own.
+ *
+ * @author Daniela Deleon
+ */
+public class WeeklyOccupancy {
+
+	/** Number of minutes in a week */
+	private static final int MINUTES_PER_WEEK = Activity.DAY_LETTERS.length() * Activity.MINUTES_PER_DAY;
+	/** One bit for each minute of the week */
+	private final long[] words = new long[(MINUTES_PER_WEEK + Long.SIZE - 1) / Long.SIZE];
+
+	/**
+	 * Returns true if the activity meets during a minute that is already taken
+	 * @param activity the activity to check
+	 * @return true if the activity overlaps an activity in the bitmap
+	 */
+	public boolean overlaps(Activity activity) {
+		int mask = activity.getMeetingDaysMask();
+		for (int day = 0; mask != 0; day++, mask >>>= 1) {
+			if ((mask & 1) != 0 && anySet(Activity.toMinuteOfWeek(day, activity.getStartMinute()),
+					Activity.toMinuteOfWeek(day, activity.getEndMinute()))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Marks the minutes the activity meets as taken
+	 * @param activity the activity to add
+	 */
+	public void add(Activity activity) {
+		setMinutes(activity, true);
+	}
+
+	/**
+	 * Frees the minutes the activity meets. The schedule should not normally hold
+	 * overlapping activities, but one reloaded from a changed catalog can, so any
+	 * remaining activity that overlaps the removed one is marked again.
+	 * @param activity the activity to remove
+	 * @param remaining the activities still in the schedule
+	 */
+	public void remove(Activity activity, List<Activity> remaining) {
+		setMinutes(activity, false);
+		for (Activity other : remaining) {
+			if (other.overlaps(activity)) {
+				add(other);
+			}
+		}
+	}
+
+	/**
+	 * Frees every minute of the week
+	 */
+	public void clear() {
+		Arrays.fill(words, 0);
+	}
+
+	/**
+	 * Sets or clears the minutes the activity meets
+	 * @param activity the activity
+	 * @param taken true to set the minutes, false to clear them
+	 */
+	private void setMinutes(Activity activity, boolean taken) {
+		int mask = activity.getMeetingDaysMask();
+		for (int day = 0; mask != 0; day++, mask >>>= 1) {
+			if ((mask & 1) != 0) {
+				setRange(Activity.toMinuteOfWeek(day, activity.getStartMinute()),
+						Activity.toMinuteOfWeek(day, activity.getEndMinute()), taken);
+			}
+		}
+	}
+
+	/**
+	 * Returns true if any bit from one minute through another is set
+	 * @param from the first minute of the week
+	 * @param to the last minute of the week, inclusive
+	 * @return true if one of the minutes is taken
+	 */
+	private boolean anySet(int from, int to) {
+		int first = from >>> 6;
+		int last = to >>> 6;
+		//Shifts only use the low six bits, which is the bit within the word
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> (63 - (to & 63));
+		if (first == last) {
+			return (words[first] & firstMask & lastMask) != 0;
+		}
+		if ((words[first] & firstMask) != 0) {
+			return true;
+		}
+		for (int w = first + 1; w < last; w++) {
+			if (words[w] != 0) {
+				return true;
+			}
+		}
+		return (words[last] & lastMask) != 0;
+	}
+
+	/**
+	 * Sets or clears every bit from one minute through another
+	 * @param from the first minute of the week
+	 * @param to the last minute of the week, inclusive
+	 * @param taken true to set the bits, false to clear them
+	 */
+	private void setRange(int from, int to, boolean taken) {
+		int first = from >>> 6;
+		int last = to >>> 6;
+		for (int w = first; w <= last; w++) {
+			long bits = -1L;
+			if (w == first) {
+				bits &= -1L << from;
+			}
+			if (w == last) {
+				bits &= -1L >>> (63 - (to & 63));
+			}
+			words[w] = taken ? words[w] | bits : words[w] & ~bits;
+		}
+	}
+
+}
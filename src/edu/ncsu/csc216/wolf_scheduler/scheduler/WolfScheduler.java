@@ -4,51 +4,213 @@
 package edu.ncsu.csc216.wolf_scheduler.scheduler;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
-import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
-import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordReader;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseSnapshotIO;
+import edu.ncsu.csc216.wolf_scheduler.io.ExportProgress;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * The WolfScheduler system provides a way for a student to determine which
- * course schedule may be best for them in an upcoming semester.
+ * course schedule may be best for them in an upcoming semester. The catalog is
+ * published as immutable snapshots, so catalog queries run from any number of threads
+ * without locking while a reload builds the next snapshot in the background. Methods
+ * that use the schedule are synchronized.
  */
 public class WolfScheduler {
 	
-	/**a course catalog */
-	private ArrayList<Course> catalog;
+	/**runs schedule exports one at a time in the background */
+	private static final ExecutorService EXPORT_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "schedule-export");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	/**the current catalog snapshot with its indexes, replaced as a whole on reload */
+	private final AtomicReference<CatalogSnapshot> catalog = new AtomicReference<>();
+	/**numbers each reload in the order it started reading the catalog file */
+	private final AtomicLong reloadSequence = new AtomicLong();
+	/**the number of the reload whose snapshot is published, guarded by this */
+	private long publishedSequence;
 	/**a course schedule */
 	private ArrayList<Activity> schedule;
+	/**the minutes of the week taken by the activities in the schedule */
+	private final WeeklyOccupancy occupancy = new WeeklyOccupancy();
+	/**the titles of the courses in the schedule, with the number of courses with each */
+	private final HashMap<String, Integer> courseTitles = new HashMap<>();
+	/**the titles of the events in the schedule */
+	private final HashSet<String> eventTitles = new HashSet<>();
 	/**a schedule title */
 	private String title;
+	/**the file the catalog was read from */
+	private String catalogFileName;
+	/**watches the catalog file for changes, or null if it is not being watched */
+	private CatalogWatcher catalogWatcher;
 	
 	
-	/** 
-	 * Constructor for the WolfScheduler class
+	/**
+	 * Constructor for the WolfScheduler class. The file may be either a course record
+	 * text file or a binary course snapshot written by CourseSnapshotIO.
 	 * @param fileName The name of the file to read from
 	 */
 	public WolfScheduler(String fileName) {
 		
 		//Construct an empty array list to hold the schedule field
 		schedule = new ArrayList<>();
-		//Construct and empty array list to hold the catalog field
-		catalog = new ArrayList<>();
 		//set the title to the default
 		title = "My Schedule";
 		
-		//try to add the course objects from the file to the catalog
+		//try to read the courses from the file into the catalog
 		try {
-			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(fileName);
-			catalog.addAll(courses);
+			catalog.set(new CatalogSnapshot(readCatalog(fileName)));
 			
 		} catch(Exception e){ //catch the exception and throw an IAE if file is not found
 			throw new IllegalArgumentException("Cannot find file");
 		}
+		catalogFileName = fileName;
+		
+	}
+	
+	/**
+	 * Reads a catalog file, which may be either a course record text file or a binary
+	 * course snapshot. Text records are streamed into the catalog one course at a time,
+	 * so the full list of Course objects is never built.
+	 * @param fileName the name of the file to read from
+	 * @return the courses in the file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	private static CourseCatalog readCatalog(String fileName) throws FileNotFoundException {
+		//Snapshots are loaded directly so the text records are not parsed again
+		if (CourseSnapshotIO.isCourseSnapshot(fileName)) {
+			return new CourseCatalog(CourseSnapshotIO.readCourseSnapshot(fileName).iterator());
+		}
+		//The catalog keeps one copy of each repeated value itself, so the tokens are not
+		//also shared through a StringPool
+		CourseRecordReader reader = new CourseRecordReader(fileName, null);
+		try {
+			return new CourseCatalog(reader);
+		} finally {
+			try {
+				reader.close();
+			} catch (IOException e) {
+				//Nothing more is read from the file
+			}
+		}
+	}
+	
+	/**
+	 * Reads the catalog file again and publishes a new catalog snapshot. The file is
+	 * parsed and the snapshot's indexes are built without any lock, and catalog readers
+	 * keep using the old snapshot until the new one is published. Courses in the schedule
+	 * are replaced by the course with the same name and section in the new catalog;
+	 * courses no longer in the catalog stay in the schedule unchanged. When reloads
+	 * overlap, a reload that started earlier never replaces the catalog of a later one.
+	 * @throws IllegalArgumentException if the catalog file cannot be read
+	 */
+	public void reloadCatalog() {
+		long sequence = reloadSequence.incrementAndGet();
+		CatalogSnapshot snapshot;
+		try {
+			snapshot = new CatalogSnapshot(readCatalog(catalogFileName));
+		} catch (Exception e) {
+			throw new IllegalArgumentException("Cannot find file");
+		}
+		replaceCatalog(snapshot, sequence);
+	}
+	
+	/**
+	 * Publishes a new catalog snapshot and remaps the scheduled courses onto it. The
+	 * schedule lock is held so the schedule never mixes courses from both catalogs. Does
+	 * nothing if a snapshot from a later reload has already been published.
+	 * @param snapshot the new catalog snapshot
+	 * @param sequence the number of the reload that read the snapshot
+	 */
+	synchronized void replaceCatalog(CatalogSnapshot snapshot, long sequence) {
+		if (sequence < publishedSequence) {
+			return;
+		}
+		publishedSequence = sequence;
+		CourseCatalog newCatalog = snapshot.getCatalog();
+		
+		//Point scheduled courses at their new catalog entries where possible
+		for (int i = 0; i < schedule.size(); i++) {
+			if (schedule.get(i) instanceof Course) {
+				Course old = (Course) schedule.get(i);
+				Course updated = newCatalog.getCourse(old.getName(), old.getSection());
+				if (updated != null) {
+					schedule.set(i, updated);
+				}
+			}
+		}
 		
+		//Meeting times and titles may have changed, so mark the schedule's minutes and
+		//titles again
+		occupancy.clear();
+		courseTitles.clear();
+		for (Activity activity : schedule) {
+			occupancy.add(activity);
+			addTitle(activity);
+		}
+		
+		catalog.set(snapshot);
+	}
+	
+	/**
+	 * Starts watching the catalog file and reloading the catalog in the background
+	 * whenever the file changes. A change that cannot be read, such as a half written
+	 * file, leaves the current catalog in place. Does nothing if the catalog is already
+	 * being watched.
+	 * @throws IllegalArgumentException if the catalog file cannot be watched
+	 */
+	public synchronized void startCatalogWatch() {
+		if (catalogWatcher != null) {
+			return;
+		}
+		try {
+			catalogWatcher = new CatalogWatcher(catalogFileName, () -> {
+				try {
+					reloadCatalog();
+				} catch (IllegalArgumentException e) {
+					//Keep the current catalog until the file can be read
+				}
+			});
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot watch file");
+		}
+	}
+	
+	/**
+	 * Stops watching the catalog file. Does nothing if the catalog is not being watched.
+	 */
+	public synchronized void stopCatalogWatch() {
+		if (catalogWatcher == null) {
+			return;
+		}
+		try {
+			catalogWatcher.close();
+		} catch (IOException e) {
+			//The watcher is no longer used either way
+		}
+		catalogWatcher = null;
 	}
 	
 	/**
@@ -58,27 +220,176 @@ public class WolfScheduler {
 	 */
 	public String[][] getCourseCatalog() {
 		
+		//Read from one snapshot so a reload cannot change the catalog part way through
+		CourseCatalog courses = catalog.get().getCatalog();
+		
 		//Return empty 2D array if there are no courses in catalog
-		if (catalog == null || catalog.isEmpty()) {
+		if (courses.isEmpty()) {
 			
 			return new String [0][0];
 		}
 		
-		  String [][] catalogArray = new String[catalog.size()][3];
-	        for (int i = 0; i < catalog.size(); i++) {
-	            Course c = catalog.get(i);
-	            catalogArray[i] = c.getShortDisplayArray();
+		  //Read the columns straight from the catalog without creating Course objects
+		  String [][] catalogArray = new String[courses.size()][3];
+	        for (int i = 0; i < courses.size(); i++) {
+	            catalogArray[i] = courses.getShortDisplayArray(i);
 	        }
 	        return catalogArray;
 		
 		}
 	
+	/**
+	 * Searches the catalog for courses whose name or title starts with the prefix, for
+	 * type-ahead in the GUI. Case is ignored. Courses matched by name are listed before
+	 * courses matched by title, and the matches are returned one page at a time with the
+	 * same columns as getCourseCatalog().
+	 * @param prefix the start of the course name or title
+	 * @param page the page to return, starting at 0
+	 * @param pageSize the number of courses on each page
+	 * @return the 2D array with the matching courses on the page
+	 * @throws IllegalArgumentException if page is negative or pageSize is less than 1
+	 */
+	public String[][] searchCatalog(String prefix, int page, int pageSize) {
+		if (page < 0 || pageSize < 1) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		CatalogSnapshot snapshot = catalog.get();
+		
+		//Pages past the last match are empty
+		long offset = (long) page * pageSize;
+		if (offset >= snapshot.getCatalog().size()) {
+			return new String[0][0];
+		}
+		
+		return snapshot.toShortDisplayArray(snapshot.search(prefix, (int) offset, pageSize));
+	}
+	
+	/**
+	 * Returns the number of catalog courses whose name or title starts with the prefix,
+	 * so the GUI can tell how many pages searchCatalog() has. Case is ignored.
+	 * @param prefix the start of the course name or title
+	 * @return the number of matching courses
+	 */
+	public int getCatalogMatchCount(String prefix) {
+		return catalog.get().count(prefix);
+	}
+	
+	/**
+	 * Returns the catalog courses taught by the given instructor, in catalog order, with
+	 * the same columns as getCourseCatalog().
+	 * @param instructorId the unity id of the instructor
+	 * @return the 2D array with the instructor's courses, empty if they teach none
+	 */
+	public String[][] getInstructorCourses(String instructorId) {
+		CatalogSnapshot snapshot = catalog.get();
+		return snapshot.toShortDisplayArray(snapshot.getInstructorPositions(instructorId));
+	}
+	
+	/**
+	 * Returns the number of catalog courses taught by the given instructor
+	 * @param instructorId the unity id of the instructor
+	 * @return the number of courses the instructor teaches
+	 */
+	public int getInstructorCourseCount(String instructorId) {
+		return catalog.get().getInstructorCourseCount(instructorId);
+	}
+	
+	/**
+	 * Returns the ids of every instructor teaching a course in the catalog
+	 * @return the instructor ids in alphabetical order
+	 */
+	public String[] getInstructorIds() {
+		return catalog.get().getInstructorIds();
+	}
+	
+	/**
+	 * Returns the catalog courses that meet on the given day entirely within the time
+	 * window, in catalog order, with the same columns as getCourseCatalog(). Arranged
+	 * courses are never included.
+	 * @param day the meeting day, one of M, T, W, H, F, S, or U
+	 * @param startTime the start of the window
+	 * @param endTime the end of the window
+	 * @return the 2D array with the courses meeting within the window
+	 * @throws IllegalArgumentException if day is not a single meeting day
+	 */
+	public String[][] getCoursesMeetingWithin(String day, int startTime, int endTime) {
+		if (day == null || day.length() != 1) {
+			throw new IllegalArgumentException("Invalid meeting day.");
+		}
+		CatalogSnapshot snapshot = catalog.get();
+		return snapshot.toShortDisplayArray(snapshot.meetingWithin(day.charAt(0), startTime, endTime));
+	}
+	
+	/**
+	 * Returns the catalog courses whose meeting times overlap the given activity, in
+	 * catalog order, with the same columns as getCourseCatalog(). Times that touch at
+	 * an endpoint overlap, and the activity itself is not included.
+	 * @param activity the activity to compare against
+	 * @return the 2D array with the overlapping courses
+	 */
+	public String[][] getCoursesOverlapping(Activity activity) {
+		CatalogSnapshot snapshot = catalog.get();
+		return snapshot.toShortDisplayArray(snapshot.overlapping(activity));
+	}
+	
+	/**
+	 * Returns the departments with courses in the catalog. A department is the letters
+	 * at the start of a course name, such as CSC for CSC 216.
+	 * @return the departments in alphabetical order
+	 */
+	public String[] getDepartments() {
+		return catalog.get().getDepartments();
+	}
+	
+	/**
+	 * Returns the catalog courses in the given department, in catalog order, with the
+	 * same columns as getCourseCatalog(). Only the department's shard of the catalog is
+	 * read.
+	 * @param department the department letters, such as CSC
+	 * @return the 2D array with the department's courses, empty if it has none
+	 */
+	public String[][] getDepartmentCourses(String department) {
+		CatalogSnapshot snapshot = catalog.get();
+		CatalogShard shard = snapshot.getShard(department);
+		if (shard == null) {
+			return new String[0][0];
+		}
+		return snapshot.toShortDisplayArray(shard.getPositions());
+	}
+	
+	/**
+	 * Searches one department for courses whose name or title starts with the prefix.
+	 * Matches are ranked and paged the same way as searchCatalog(), but only the
+	 * department's shard of the catalog is searched.
+	 * @param department the department letters, such as CSC
+	 * @param prefix the start of the course name or title
+	 * @param page the page to return, starting at 0
+	 * @param pageSize the number of courses on each page
+	 * @return the 2D array with the matching courses on the page
+	 * @throws IllegalArgumentException if page is negative or pageSize is less than 1
+	 */
+	public String[][] searchDepartment(String department, String prefix, int page, int pageSize) {
+		if (page < 0 || pageSize < 1) {
+			throw new IllegalArgumentException("Invalid page.");
+		}
+		CatalogSnapshot snapshot = catalog.get();
+		CatalogShard shard = snapshot.getShard(department);
+		
+		//Pages past the last match are empty
+		long offset = (long) page * pageSize;
+		if (shard == null || offset >= shard.size()) {
+			return new String[0][0];
+		}
+		
+		return snapshot.toShortDisplayArray(shard.getSearchIndex().search(prefix, (int) offset, pageSize));
+	}
+	
 	/**
 	 * Creates the schedule with the courses from the catalog with their 
 	 * respective name, section an title.
 	 * @return a 2D array with the scheduled courses
 	 */
-	public String[][] getScheduledActivities() {
+	public synchronized String[][] getScheduledActivities() {
 		
 		//Return an empty 2D array if there are no courses  in schedule
 		if (schedule == null || schedule.isEmpty()) {
@@ -98,7 +409,7 @@ public class WolfScheduler {
 	 * name, section, title, credits, instructor ID, and meeting days and times.
 	 * @return a 2D array with the courses in the schedule.
 	 */
-	public String[][] getFullScheduledActivities() {
+	public synchronized String[][] getFullScheduledActivities() {
 		
 		//Return an empty 2D array if there are no courses in the schedule
 		if (schedule == null || schedule.isEmpty()) {
@@ -115,27 +426,175 @@ public class WolfScheduler {
 	}
 
 	/**
-	 * Gets the course with the given name and section from the catalog. 
+	 * Gets the course with the given name and section from the catalog. The course is
+	 * looked up in the catalog's hash table, so the cost does not grow with the catalog
+	 * size. Each call creates a new Course object from the stored values.
 	 * @param name the name of the course
 	 * @param section the section of the course
 	 * @return the course if it exists, null if it does not exist
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
 		
-		//Iterate through the courses in the catalog
-		for (int i = 0; i < catalog.size(); i++) {
-			 
-			Course course = catalog.get(i);
+		//If course is not found the catalog returns null
+		return catalog.get().getCatalog().getCourse(name, section);
 			
-			//If course has the same name and section return the given course
-			if(course.getName().equals(name) && course.getSection().equals(section)) {
-				return course;
-			} 
+	}
+	
+	/**
+	 * Returns whether each catalog course conflicts with something in the schedule, in
+	 * the same order as the rows of getCourseCatalog(). The conflict sets of the scheduled
+	 * activities are combined once, and then each course is a single lookup.
+	 * @return true for each catalog course whose meeting times overlap a scheduled activity
+	 */
+	public synchronized boolean[] getCatalogConflicts() {
+		CatalogSnapshot snapshot = catalog.get();
+		ConflictIndex conflicts = snapshot.getConflictIndex();
+		BitSet conflicting = conflicts.conflictsWith(schedule);
+		
+		boolean[] result = new boolean[snapshot.getCatalog().size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = conflicts.conflicts(i, conflicting);
+		}
+		return result;
+	}
+	
+	/**
+	 * Returns true if the catalog course with the given name and section conflicts with
+	 * something in the schedule
+	 * @param name the name of the course
+	 * @param section the section of the course
+	 * @return true if the course's meeting times overlap a scheduled activity, false if
+	 * they do not or the course is not in the catalog
+	 */
+	public synchronized boolean conflictsWithSchedule(String name, String section) {
+		CatalogSnapshot snapshot = catalog.get();
+		int position = snapshot.getCatalog().indexOf(name, section);
+		if (position < 0) {
+			return false;
 		}
+		ConflictIndex conflicts = snapshot.getConflictIndex();
+		return conflicts.conflicts(position, conflicts.conflictsWith(schedule));
+	}
+	
+	/**
+	 * Returns every pair of scheduled activities that conflict. A schedule built with
+	 * addCourseToSchedule() and addEventToSchedule() has none, but a catalog reload can
+	 * move a scheduled course onto another activity.
+	 * @return the conflicting pairs as indexes into getScheduledActivities(), see findConflicts()
+	 */
+	public synchronized int[][] getScheduleConflicts() {
+		return findConflicts(schedule);
+	}
+	
+	/**
+	 * Returns every pair of activities in the list that conflict, using the same test as
+	 * Activity.overlaps(). Each day is swept in time order with the start and end of each
+	 * activity meeting that day. An activity that starts is paired with every activity
+	 * that has started and not yet ended, and starts come before ends at the same minute
+	 * so that touching activities conflict. This takes O(n log n) time plus the number of
+	 * pairs, instead of comparing every pair of activities.
+	 * @param activities the activities to check, such as a submitted schedule
+	 * @return the conflicting pairs as {first index, second index}, with the first index
+	 * smaller, in order of first index and then second index
+	 */
+	public static int[][] findConflicts(List<? extends Activity> activities) {
+		int n = activities.size();
+		long[] points = new long[2 * n];
+		int[] active = new int[n];
+		int[] activeAt = new int[n];
+		long[] pairs = new long[Math.max(n, 16)];
+		int pairCount = 0;
 		
-		//If course is not found return null
-		return null;
+		for (int day = 0; day < Activity.DAY_LETTERS.length(); day++) {
+			//Each point is the minute, then 0 for a start or 1 for an end, then the index
+			int pointCount = 0;
+			for (int i = 0; i < n; i++) {
+				Activity activity = activities.get(i);
+				if ((activity.getMeetingDaysMask() & (1 << day)) != 0) {
+					points[pointCount++] = (long) activity.getStartMinute() << 33 | i;
+					points[pointCount++] = ((long) activity.getEndMinute() << 1 | 1) << 32 | i;
+				}
+			}
+			Arrays.sort(points, 0, pointCount);
 			
+			int activeCount = 0;
+			for (int k = 0; k < pointCount; k++) {
+				int i = (int) points[k];
+				if ((points[k] >>> 32 & 1) == 0) {
+					//Pair the starting activity with everything still going
+					for (int a = 0; a < activeCount; a++) {
+						if (pairCount == pairs.length) {
+							pairs = Arrays.copyOf(pairs, pairCount * 2);
+						}
+						int other = active[a];
+						pairs[pairCount++] = (long) Math.min(i, other) << 32 | Math.max(i, other);
+					}
+					activeAt[i] = activeCount;
+					active[activeCount++] = i;
+				} else {
+					//Move the last active activity into the ended one's place
+					int last = active[--activeCount];
+					active[activeAt[i]] = last;
+					activeAt[last] = activeAt[i];
+				}
+			}
+		}
+		
+		//Activities that meet on several days are paired once for each shared day
+		Arrays.sort(pairs, 0, pairCount);
+		int[][] result = new int[pairCount][];
+		int count = 0;
+		for (int k = 0; k < pairCount; k++) {
+			if (k == 0 || pairs[k] != pairs[k - 1]) {
+				result[count++] = new int[] {(int) (pairs[k] >>> 32), (int) pairs[k]};
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+	
+	/**
+	 * Returns schedules with one section of each wanted course and no time conflicts,
+	 * found by ScheduleGenerator. A course listed more than once is only included once,
+	 * and two courses with the same title are never scheduled together, the same as
+	 * addCourseToSchedule(). There can be a very large number of schedules for many
+	 * courses, so the search stops after the given number.
+	 * @param names the names of the wanted courses, such as CSC 216
+	 * @param limit the largest number of schedules to return
+	 * @return the schedules, each with one row per course in the order of names and the
+	 * same columns as getCourseCatalog(), or an empty array if there are none
+	 * @throws IllegalArgumentException if limit is less than 1
+	 */
+	public String[][][] generateSchedules(String[] names, int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("Invalid limit.");
+		}
+		CatalogSnapshot snapshot = catalog.get();
+		
+		//A course with no sections means there is no schedule at all
+		LinkedHashSet<String> wanted = new LinkedHashSet<>(Arrays.asList(names));
+		int[][] sections = new int[wanted.size()][];
+		int course = 0;
+		for (String name : wanted) {
+			sections[course] = snapshot.getSectionPositions(name);
+			if (sections[course].length == 0) {
+				return new String[0][0][0];
+			}
+			course++;
+		}
+		
+		//The same sections appear in many schedules, so build each section's row once
+		List<int[]> schedules = new ScheduleGenerator(snapshot.getCatalog(), sections).generate(limit);
+		HashMap<Integer, String[]> rows = new HashMap<>();
+		String[][][] result = new String[schedules.size()][][];
+		for (int i = 0; i < result.length; i++) {
+			int[] positions = schedules.get(i);
+			result[i] = new String[positions.length][];
+			for (int j = 0; j < positions.length; j++) {
+				String[] row = rows.computeIfAbsent(positions[j], position -> snapshot.getCatalog().getShortDisplayArray(position));
+				result[i][j] = row.clone();
+			}
+		}
+		return result;
 	}
 	
 	/**
@@ -146,7 +605,7 @@ public class WolfScheduler {
 	 * @return true if the course exists and can be added to the schedule, false if the course is not in the catalog.
 	 * @throws IllegalArgumentException if the courseToAdd is a duplicate in the schedule 
 	 */
-	public boolean addCourseToSchedule(String name, String section){
+	public synchronized boolean addCourseToSchedule(String name, String section){
 				
 		//Get the course to add from the catalog
 		Course courseToAdd = getCourseFromCatalog(name, section);
@@ -156,26 +615,19 @@ public class WolfScheduler {
 		return false;
 		}
 
-		//Check if the courseToAdd is a duplicate in the schedule 
-		for (Activity activity : schedule) {
-			if (activity.isDuplicate(courseToAdd)){
-				throw new IllegalArgumentException("You are already enrolled in " + name);
-				}
-			}
-		try {
-			for (Activity existingCourse : schedule) {
-				if (courseToAdd.getEndTime() == existingCourse.getEndTime() || courseToAdd.getStartTime() == existingCourse.getStartTime()) {
-					throw new ConflictException();
-				}
-				
-			}
-	
-		} catch (ConflictException e) {
+		//Check if the courseToAdd is a duplicate of a course in the schedule
+		if (courseTitles.containsKey(courseToAdd.getTitle())) {
+			throw new IllegalArgumentException("You are already enrolled in " + name);
+		}
+		//Check only the minutes of the week the course meets
+		if (occupancy.overlaps(courseToAdd)) {
 			throw new IllegalArgumentException("The course cannot be added due to a conflict.");
 		}
 
 		//If its not a duplicate , add the course to the schedule
 		schedule.add(courseToAdd);
+		occupancy.add(courseToAdd);
+		addTitle(courseToAdd);
 		return true; 
 
 		}
@@ -188,41 +640,49 @@ public class WolfScheduler {
 	 * @param eventDetails the details for the event
 	 * @throws IllegalArgumentException if the new event is a duplicate of an existing event
 	 */
-	public void addEventToSchedule(String eventTitle, String eventMeetingDays, int eventStartTime, int eventEndTime, String eventDetails) {
+	public synchronized void addEventToSchedule(String eventTitle, String eventMeetingDays, int eventStartTime, int eventEndTime, String eventDetails) {
 		
-		//Check if the new event is a duplicate of an existing event
-		for (Activity existingEvent : schedule) {
-			if (existingEvent.getTitle().equals(eventTitle)) {
-				throw new IllegalArgumentException("You have already created an event called " + eventTitle);
-			}
+		//Check if the new event has the title of an existing course or event
+		if (courseTitles.containsKey(eventTitle) || eventTitles.contains(eventTitle)) {
+			throw new IllegalArgumentException("You have already created an event called " + eventTitle);
 		}
 		
-		try {
-			for (Activity existingEvent : schedule) {
-				if (eventEndTime == existingEvent.getEndTime() || eventStartTime == existingEvent.getStartTime()) {
-					throw new ConflictException();
-				}
-				
-				String[] thisMeetingDays = eventMeetingDays.split("");
-				
-				//Iterate through the meeting days of this activity 
-				for (String day : thisMeetingDays) {
-					day = day.trim();
-						//if at least one meeting day is the same and times are the same throw an exception
-					        if (.meetingDays.contains(day) 
-					        		&& endTime == possibleConflictingActivity.endTime 
-					        		&& startTime == possibleConflictingActivity.startTime) {
-					                throw new ConflictException();
-					            }
-					        }
-				
-			}
-		} catch (ConflictException e) {
+		//Create the event first so its meeting days and times are validated
+		Event newEvent = new Event (eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventDetails);
+		
+		//Check only the minutes of the week the event meets
+		if (occupancy.overlaps(newEvent)) {
 			throw new IllegalArgumentException("The event cannot be added due to a conflict.");
 		}
-		//If its not a duplicate, create a new event and add it to schedule\
-		Event newEvent = new Event (eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventDetails);
+		//If its not a duplicate or a conflict, add it to schedule
 		schedule.add(newEvent);
+		occupancy.add(newEvent);
+		addTitle(newEvent);
+	}
+	
+	/**
+	 * Records the title of an activity added to the schedule, so duplicates are found
+	 * without going through the schedule
+	 * @param activity the activity added
+	 */
+	private void addTitle(Activity activity) {
+		if (activity instanceof Course) {
+			courseTitles.merge(activity.getTitle(), 1, Integer::sum);
+		} else {
+			eventTitles.add(activity.getTitle());
+		}
+	}
+	
+	/**
+	 * Forgets the title of an activity removed from the schedule
+	 * @param activity the activity removed
+	 */
+	private void removeTitle(Activity activity) {
+		if (activity instanceof Course) {
+			courseTitles.computeIfPresent(activity.getTitle(), (title, count) -> count == 1 ? null : count - 1);
+		} else {
+			eventTitles.remove(activity.getTitle());
+		}
 	}
 	
 	/**
@@ -230,11 +690,13 @@ public class WolfScheduler {
 	 * @param idx the index of the Activity you want to remove from the schedule
 	 * @return true if the given course can be removed, false if the course is not on the schedule.
 	 */
-	public boolean removeActivityFromSchedule(int idx) {
+	public synchronized boolean removeActivityFromSchedule(int idx) {
 		
 		try {
 			//Attempt to remove the activity at the specified index
-			schedule.remove(idx);
+			Activity removed = schedule.remove(idx);
+			occupancy.remove(removed, schedule);
+			removeTitle(removed);
 			return true;
 		} catch(IndexOutOfBoundsException e) {
 			//catch the exception and return false of index is out of bounds
@@ -245,10 +707,13 @@ public class WolfScheduler {
 	/**
 	 * Creates an empty Array list to hold the schedule
 	 */
-	public void resetSchedule() {
+	public synchronized void resetSchedule() {
 	
 	//Create an empty array list for the schedule
 	 schedule = new ArrayList<>();
+	 occupancy.clear();
+	 courseTitles.clear();
+	 eventTitles.clear();
 		
 	}
 	
@@ -284,7 +749,7 @@ public class WolfScheduler {
 	 * @param fileName the name of the file
 	 * @throws IllegalArgumentException if the file cannot be saved
 	 */
-	public void exportSchedule(String fileName) {
+	public synchronized void exportSchedule(String fileName) {
 	
 		//Try using writeCourseRecordsIO to export the file
 		try {
@@ -295,4 +760,44 @@ public class WolfScheduler {
 		}
 	}
 
+	/**
+	 * Exports the schedule to a file on a background thread so the caller is not blocked
+	 * while the file is written. The schedule is copied when this method is called, so
+	 * later changes are not included in the export. The file is replaced in one step once
+	 * it is complete, so a cancelled or failed export leaves any existing file unchanged.
+	 * Cancelling the returned future, or returning false from progress, stops the export.
+	 * @param fileName the name of the file
+	 * @param progress receives progress updates and may cancel the export, or null
+	 * @return a future that completes once the file is saved, or completes exceptionally
+	 * with an IllegalArgumentException if the file cannot be saved, or with any other
+	 * exception thrown by progress
+	 */
+	public CompletableFuture<Void> exportScheduleAsync(String fileName, ExportProgress progress) {
+		ArrayList<Activity> activities;
+		synchronized (this) {
+			activities = new ArrayList<Activity>(schedule);
+		}
+		
+		CompletableFuture<Void> future = new CompletableFuture<Void>();
+		EXPORT_EXECUTOR.execute(() -> {
+			if (future.isCancelled()) {
+				return;
+			}
+			try {
+				//Stop writing as soon as the future is cancelled or progress asks to stop
+				ActivityRecordIO.writeActivityRecords(fileName, activities, (written, total) -> 
+						!future.isCancelled() && (progress == null || progress.recordsWritten(written, total)));
+				future.complete(null);
+			} catch (CancellationException e) {
+				future.cancel(false);
+			} catch (IOException | InvalidPathException e) {
+				future.completeExceptionally(new IllegalArgumentException("The file cannot be saved."));
+			} catch (RuntimeException | Error e) {
+				//Anything else still has to complete the future, or the caller waits forever
+				future.completeExceptionally(e);
+			}
+		});
+		return future;
+	}
+
 }
@@ -9,6 +9,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.util.concurrent.CompletionException;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -23,6 +24,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 import javax.swing.border.EtchedBorder;
 import javax.swing.border.TitledBorder;
@@ -854,11 +856,16 @@ public class WolfSchedulerGUI extends JFrame {
 			} else if (e.getSource() == btnExportSchedule) {
 				try {
 					String fileName = getFileName(false);
-					scheduler.exportSchedule(fileName);
-				} catch (IllegalArgumentException iae) {
-					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, iae.getMessage());
-					String fileName = getFileName(false);
-					scheduler.exportSchedule(fileName);
+					//Write the file in the background and re-enable the button once it is done
+					btnExportSchedule.setEnabled(false);
+					scheduler.exportScheduleAsync(fileName, null).whenComplete((result, error) -> 
+							SwingUtilities.invokeLater(() -> {
+								btnExportSchedule.setEnabled(true);
+								if (error != null) {
+									Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+									JOptionPane.showMessageDialog(WolfSchedulerGUI.this, cause.getMessage());
+								}
+							}));
 				} catch (IllegalStateException ise) {
 					//do nothing if the window is closed.
 				}
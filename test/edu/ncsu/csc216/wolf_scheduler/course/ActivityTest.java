@@ -40,5 +40,80 @@ class ActivityTest {
 	    Exception e2 = assertThrows(ConflictException.class, () -> a2.checkConflict(a1));
 	    assertEquals("Schedule conflict.", e2.getMessage());
 	}
+	
+	@Test
+	public void testCheckConflictPartialOverlap() {
+		Activity a1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		Activity a2 = new Event("Office hours", "W", 1400, 1500, "");
+		Activity a3 = new Event("Gym", "TH", 1445, 1600, "");
+		Activity a4 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+		
+		//Overlapping part way on a shared day is a conflict
+		assertThrows(ConflictException.class, () -> a1.checkConflict(a2));
+		assertThrows(ConflictException.class, () -> a2.checkConflict(a1));
+		
+		//Touching at an endpoint on different days is not
+		assertDoesNotThrow(() -> a1.checkConflict(a3));
+		assertDoesNotThrow(() -> a3.checkConflict(a1));
+		
+		//Arranged courses never conflict
+		assertDoesNotThrow(() -> a1.checkConflict(a4));
+		assertDoesNotThrow(() -> a4.checkConflict(a4));
+		
+		assertTrue(Activity.overlaps(0b101, 810, 885, 0b100, 840, 900));
+		assertTrue(Activity.overlaps(0b101, 810, 885, 0b100, 885, 900));
+		assertFalse(Activity.overlaps(0b101, 810, 885, 0b100, 886, 900));
+		assertFalse(Activity.overlaps(0b101, 810, 885, 0b010, 840, 900));
+	}
+	
+	@Test
+	public void testGetMeetingDaysMask() {
+		Activity a1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		Activity a2 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+		Activity a3 = new Event("Exercise", "UMTHFS", 800, 900, "Cardio with rest day on Wednesday.");
+		
+		assertEquals(0b0000101, a1.getMeetingDaysMask());
+		assertEquals(0, a2.getMeetingDaysMask());
+		assertEquals(0b1111011, a3.getMeetingDaysMask());
+		
+		//The mask follows changes to the meeting days
+		a1.setMeetingDaysAndTime("TH", 1330, 1445);
+		assertEquals(0b0001010, a1.getMeetingDaysMask());
+		assertEquals("TH", a1.getMeetingDays());
+		
+		assertEquals("MTWHFSU", Activity.fromDayMask(Activity.toDayMask("UMTHFSW")));
+		assertEquals("A", Activity.fromDayMask(Activity.toDayMask("A")));
+	}
+	
+	@Test
+	public void testMinuteTimes() {
+		Activity a1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+		Activity a2 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+		
+		assertEquals(810, a1.getStartMinute());
+		assertEquals(885, a1.getEndMinute());
+		assertEquals(75, a1.getDurationMinutes());
+		assertEquals(150, a1.getWeeklyMinutes());
+		assertEquals(0, a2.getDurationMinutes());
+		assertEquals(0, a2.getWeeklyMinutes());
+		
+		assertEquals(810, Activity.toMinuteOfDay(1330));
+		assertEquals(2 * Activity.MINUTES_PER_DAY + 810, Activity.toMinuteOfWeek(2, 810));
+	}
+	
+	@Test
+	public void testOverlaps() {
+		Activity a1 = new Event("Exercise", "MWF", 900, 1000, "Cardio Days");
+		Activity a2 = new Event("Breakfast with mom", "TF", 1000, 1130, "Meet at rush bowls");
+		Activity a3 = new Event("Lunch", "MW", 1001, 1100, "");
+		Activity a4 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+		
+		//Touching endpoints on a shared day overlap
+		assertTrue(a1.overlaps(a2));
+		assertTrue(a2.overlaps(a1));
+		assertFalse(a1.overlaps(a3));
+		assertFalse(a2.overlaps(a3));
+		assertFalse(a4.overlaps(a4));
+	}
 
 }
@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests CourseCatalog.
+ * @author Daniela Deleon
+ */
+public class CourseCatalogTest {
+
+	/**
+	 * Builds a catalog of three courses, where the last repeats the name and section of
+	 * the first.
+	 * @return the catalog
+	 */
+	private CourseCatalog buildCatalog() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A", 0, 0));
+		courses.add(new Course("CSC 216", "Duplicate Section", "001", 4, "jdyoung2", "TH", 900, 1015));
+		return new CourseCatalog(courses.iterator());
+	}
+
+	/**
+	 * Tests reading the stored columns and creating Course objects.
+	 */
+	@Test
+	public void testGetCourse() {
+		CourseCatalog catalog = buildCatalog();
+		assertEquals(3, catalog.size());
+		assertFalse(catalog.isEmpty());
+		assertTrue(new CourseCatalog(new ArrayList<Course>().iterator()).isEmpty());
+		
+		assertEquals("CSC 216", catalog.getName(0));
+		assertEquals("Software Development Fundamentals", catalog.getTitle(1));
+		assertEquals("601", catalog.getSection(1));
+		assertEquals("sesmith5", catalog.getInstructorId(0));
+		assertEquals("MW", catalog.getMeetingDays(0));
+		assertEquals(3, catalog.getCredits(0));
+		assertEquals(1330, catalog.getStartTime(0));
+		assertEquals(1445, catalog.getEndTime(0));
+		assertEquals(Activity.toDayMask("MW"), catalog.getMeetingDaysMask(0));
+		assertEquals(0, catalog.getMeetingDaysMask(1));
+		
+		Course c = catalog.getCourse(0);
+		assertEquals(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445), c);
+		assertNotSame(c, catalog.getCourse(0));
+		
+		assertArrayEquals(c.getShortDisplayArray(), catalog.getShortDisplayArray(0));
+		assertArrayEquals(catalog.getCourse(1).getShortDisplayArray(), catalog.getShortDisplayArray(1));
+		
+		//Names and titles compare against the pool without building a String
+		assertTrue(catalog.nameEquals(1, "CSC 216"));
+		assertFalse(catalog.nameEquals(0, "CSC 116"));
+		assertFalse(catalog.nameEquals(0, null));
+		assertEquals(catalog.getTitleId(0), catalog.getTitleId(1));
+		assertNotEquals(catalog.getTitleId(0), catalog.getTitleId(2));
+	}
+
+	/**
+	 * Tests finding courses by name and section.
+	 */
+	@Test
+	public void testIndexOf() {
+		CourseCatalog catalog = buildCatalog();
+		
+		//The first course with a repeated name and section is the one found
+		assertEquals(0, catalog.indexOf("CSC 216", "001"));
+		assertEquals(1, catalog.indexOf("CSC 216", "601"));
+		assertEquals("Software Development Fundamentals", catalog.getCourse("CSC 216", "001").getTitle());
+		
+		assertEquals(-1, catalog.indexOf("CSC 216", "002"));
+		assertEquals(-1, catalog.indexOf("CSC 21", "6001"));
+		assertEquals(-1, catalog.indexOf(null, "001"));
+		assertNull(catalog.getCourse("CSC 116", "001"));
+	}
+
+}
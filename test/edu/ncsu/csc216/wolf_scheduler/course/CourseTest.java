@@ -483,6 +483,26 @@ public class CourseTest {
 		assertEquals(s2, c2.toString());
 	}
 	
+	/**
+	 * Tests that validate() reports the same reason the constructor throws.
+	 */
+	@Test
+	public void testValidate() {
+		assertNull(Course.validate(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME));
+		assertNull(Course.validate(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "A", 0, 0));
+		
+		assertEquals("Invalid title.", Course.validate(NAME, "", SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME));
+		assertEquals("Invalid meeting days and times.", Course.validate(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, "MWA", START_TIME, END_TIME));
+		assertEquals("Invalid meeting days and times.", Course.validate(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, END_TIME, START_TIME));
+		assertEquals("Invalid course name.", Course.validate("CSC216", TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME));
+		assertEquals("Invalid section.", Course.validate(NAME, TITLE, "abc", CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME));
+		assertEquals("Invalid credits.", Course.validate(NAME, TITLE, SECTION, 6, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME));
+		assertEquals("Invalid instructor id.", Course.validate(NAME, TITLE, SECTION, CREDITS, "", MEETING_DAYS, START_TIME, END_TIME));
+		
+		//The title is checked first, just as in the constructor
+		assertEquals("Invalid title.", Course.validate("CSC216", null, "abc", 6, "", MEETING_DAYS, START_TIME, END_TIME));
+	}
+	
 	/**
 	 * Tests Course.getShortDisplayArray().
 	 */
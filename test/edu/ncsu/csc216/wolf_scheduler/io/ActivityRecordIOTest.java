@@ -6,8 +6,16 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Set;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
@@ -59,6 +67,111 @@ public class ActivityRecordIOTest {
 		checkFiles("test-files/expected_activity_records.txt", "test-files/actual_activity_records.txt");
 	}
 
+	/**
+	 * Tests appendActivityRecords() with a StringBuilder.
+	 */
+	@Test
+	public void testAppendActivityRecords() {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		activities.add(new Event("Exercise", "UMTHFS", 800, 900, "Cardio with rest day on Wednesday."));
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		
+		StringBuilder out = new StringBuilder();
+		try {
+			ActivityRecordIO.appendActivityRecords(out, activities);
+		} catch (IOException e) {
+			fail("Cannot append to a StringBuilder");
+		}
+		
+		String separator = System.lineSeparator();
+		assertEquals("CSC 116,Intro to Programming - Java,003,3,spbalik,MW,1250,1440" + separator
+				+ "Exercise,UMTHFS,800,900,Cardio with rest day on Wednesday." + separator
+				+ "CSC 216,Software Development Fundamentals,601,3,jctetter,A" + separator, out.toString());
+	}
+
+	/**
+	 * Tests readActivityRecords() on records written by writeActivityRecords().
+	 */
+	@Test
+	public void testReadActivityRecords() {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		activities.add(new Event("Lunch", "MW", 1200, 1300, "With Sam, Alex, and Jo"));
+		activities.add(new Event("Nap", "U", 1400, 1500, ""));
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		
+		try {
+			ActivityRecordIO.writeActivityRecords("test-files/actual_activity_records.txt", activities);
+			assertEquals(activities, ActivityRecordIO.readActivityRecords("test-files/actual_activity_records.txt"));
+		} catch (IOException e) {
+			fail("Cannot write or read activity records file");
+		}
+	}
+
+	/**
+	 * Tests that a cancelled writeActivityRecords() leaves the existing file unchanged.
+	 */
+	@Test
+	public void testWriteActivityRecordsCancelled() {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445));
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		
+		try {
+			ActivityRecordIO.writeActivityRecords("test-files/actual_cancelled_records.txt", activities);
+		} catch (IOException e) {
+			fail("Cannot write to course records file");
+		}
+		
+		ArrayList<Activity> replacement = new ArrayList<Activity>();
+		replacement.add(new Event("Exercise", "UMTHFS", 800, 900, "Cardio with rest day on Wednesday."));
+		assertThrows(CancellationException.class, 
+				() -> ActivityRecordIO.writeActivityRecords("test-files/actual_cancelled_records.txt", replacement, (written, total) -> false));
+		
+		checkFiles("test-files/expected_course_records.txt", "test-files/actual_cancelled_records.txt");
+	}
+
+	/**
+	 * Tests that writeActivityRecords() gives a new file the default permissions and keeps
+	 * the permissions of a file it replaces.
+	 * @throws IOException if the files cannot be written
+	 */
+	@Test
+	public void testWriteActivityRecordsPermissions() throws IOException {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		Path reference = Paths.get("test-files/actual_permissions_reference.txt");
+		Path target = Paths.get("test-files/actual_permissions_records.txt");
+		Files.deleteIfExists(reference);
+		Files.deleteIfExists(target);
+		if (!Files.getFileStore(Paths.get("test-files")).supportsFileAttributeView(PosixFileAttributeView.class)) {
+			return;
+		}
+		
+		//A new file gets the same permissions as any other new file
+		Files.createFile(reference);
+		ActivityRecordIO.writeActivityRecords(target.toString(), activities);
+		assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(target));
+		
+		//A replaced file keeps its permissions
+		Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+		Files.setPosixFilePermissions(target, permissions);
+		ActivityRecordIO.writeActivityRecords(target.toString(), activities);
+		assertEquals(permissions, Files.getPosixFilePermissions(target));
+	}
+
+	/**
+	 * Tests that writeActivityRecords() reports a file name the file system cannot use as
+	 * an IOException.
+	 */
+	@Test
+	public void testWriteActivityRecordsInvalidName() {
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		assertThrows(IOException.class, () -> ActivityRecordIO.writeActivityRecords("test-files/actual\0records.txt", activities));
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ActivityRecordReader.
+ * @author Daniela Deleon
+ */
+public class ActivityRecordReaderTest {
+
+	/** Exported activity records with courses and an event */
+	private final String activityTestFile = "test-files/expected_activity_records.txt";
+	/** Course records that are all invalid */
+	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/**
+	 * Tests reading courses and events one at a time.
+	 */
+	@Test
+	public void testNext() {
+		try (ActivityRecordReader reader = new ActivityRecordReader(activityTestFile)) {
+			Activity a1 = reader.next();
+			assertTrue(a1 instanceof Course);
+			assertEquals("CSC 116,Intro to Programming - Java,003,3,spbalik,MW,1250,1440", a1.toString());
+			
+			Activity a2 = reader.next();
+			assertTrue(a2 instanceof Event);
+			assertEquals("Exercise,UMTHFS,800,900,Cardio with rest day on Wednesday.", a2.toString());
+			
+			assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,1330,1445", reader.next().toString());
+			assertEquals("CSC 216,Software Development Fundamentals,601,3,jctetter,A", reader.next().toString());
+			
+			assertFalse(reader.hasNext());
+			assertThrows(NoSuchElementException.class, () -> reader.next());
+		} catch (IOException e) {
+			fail("Unexpected error reading " + activityTestFile);
+		}
+	}
+	
+	/**
+	 * Tests that invalid lines are skipped.
+	 */
+	@Test
+	public void testInvalidRecords() {
+		try (ActivityRecordReader reader = new ActivityRecordReader(invalidTestFile)) {
+			assertFalse(reader.hasNext());
+		} catch (IOException e) {
+			fail("Unexpected error reading " + invalidTestFile);
+		}
+	}
+	
+	/**
+	 * Tests that records are read as UTF-8 whatever the platform's default charset is.
+	 */
+	@Test
+	public void testNextUtf8() {
+		Path file = Paths.get("test-files", "actual_utf8_activity_records.txt");
+		try {
+			Files.write(file, "Study,MW,800,900,Caf\u00e9 with Zo\u00eb\n".getBytes(StandardCharsets.UTF_8));
+			try (ActivityRecordReader reader = new ActivityRecordReader(file.toString())) {
+				assertEquals("Study,MW,800,900,Caf\u00e9 with Zo\u00eb", reader.next().toString());
+				assertFalse(reader.hasNext());
+			}
+		} catch (IOException e) {
+			fail("Unexpected error reading " + file);
+		}
+	}
+
+}
@@ -0,0 +1,176 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Scanner;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Measures how many lines per second readCourseRecords() reads, against the Scanner
+ * parsing it replaced. The records in course_records.txt are repeated into a temporary
+ * file with the given number of lines, 210000 by default. Both readers are run a few
+ * times first so the JIT has compiled them, and the best of the timed runs is reported.
+ * Run it from the project directory:
+ * <pre>
+ * java edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIOBenchmark [lines]
+ * </pre>
+ * This is not a JUnit test, so it does not run with the tests.
+ *
+ * @author Daniela Deleon
+ */
+public class CourseRecordIOBenchmark {
+
+	/** Records repeated to make the benchmark file */
+	private static final String RECORDS_FILE = "test-files/course_records.txt";
+	/** Number of lines in the benchmark file when none is given */
+	private static final int DEFAULT_LINES = 210000;
+	/** Runs of each reader before timing starts */
+	private static final int WARM_UP_RUNS = 3;
+	/** Timed runs of each reader */
+	private static final int TIMED_RUNS = 5;
+
+	/**
+	 * Reads course records from a file
+	 */
+	private interface RecordReader {
+		/**
+		 * Reads the valid courses in a file
+		 * @param fileName file to read Course records from
+		 * @return a list of valid Courses
+		 * @throws FileNotFoundException if the file cannot be found or read
+		 */
+		ArrayList<Course> read(String fileName) throws FileNotFoundException;
+	}
+
+	/**
+	 * Runs the benchmark
+	 * @param args the number of lines to read, or nothing for the default
+	 * @throws IOException if the benchmark file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int lines = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LINES;
+		Path file = writeRecords(lines);
+		try {
+			String fileName = file.toString();
+			if (!readWithScanner(fileName).toString().equals(CourseRecordIO.readCourseRecords(fileName).toString())) {
+				throw new IllegalStateException("The readers found different courses");
+			}
+			System.out.println(lines + " lines");
+			report("Scanner", lines, fileName, CourseRecordIOBenchmark::readWithScanner);
+			report("LineTokenizer", lines, fileName, CourseRecordIO::readCourseRecords);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Times a reader and prints its best time and lines per second
+	 * @param label the name of the reader
+	 * @param lines the number of lines in the file
+	 * @param fileName the file to read
+	 * @param reader the reader to time
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	private static void report(String label, int lines, String fileName, RecordReader reader) throws FileNotFoundException {
+		for (int i = 0; i < WARM_UP_RUNS; i++) {
+			reader.read(fileName);
+		}
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < TIMED_RUNS; i++) {
+			long start = System.nanoTime();
+			reader.read(fileName);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		System.out.printf("%-14s %8.1f ms %,12.0f lines/sec%n", label, best / 1e6, lines / (best / 1e9));
+	}
+
+	/**
+	 * Writes a temporary file with the records in course_records.txt repeated
+	 * @param lines the number of lines to write
+	 * @return the file
+	 * @throws IOException if the file cannot be written
+	 */
+	private static Path writeRecords(int lines) throws IOException {
+		List<String> records = Files.readAllLines(Paths.get(RECORDS_FILE), StandardCharsets.UTF_8);
+		Path file = Files.createTempFile("course_records", ".txt");
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < lines; i++) {
+				writer.write(records.get(i % records.size()));
+				writer.newLine();
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Reads course records with a Scanner for the file and a Scanner for each line, the
+	 * way readCourseRecords() did before the tokenizer. Duplicates are found with a
+	 * HashSet, as readCourseRecords() does now, so only the parsing differs.
+	 * @param fileName file to read Course records from
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	private static ArrayList<Course> readWithScanner(String fileName) throws FileNotFoundException {
+		Scanner fileReader = new Scanner(new FileInputStream(fileName));
+		ArrayList<Course> courses = new ArrayList<Course>();
+		HashSet<String> seen = new HashSet<String>();
+		while (fileReader.hasNextLine()) {
+			try {
+				Course course = readCourseWithScanner(fileReader.nextLine());
+				if (seen.add(course.getName() + "," + course.getSection())) {
+					courses.add(course);
+				}
+			} catch (IllegalArgumentException e) {
+				//The line is invalid, skip it
+			}
+		}
+		fileReader.close();
+		return courses;
+	}
+
+	/**
+	 * Parses one course record with a Scanner delimited by commas
+	 * @param nextLine the line to parse
+	 * @return a newly built course object
+	 * @throws IllegalArgumentException if the line does not describe a valid course
+	 */
+	private static Course readCourseWithScanner(String nextLine) {
+		Scanner lineReader = new Scanner(nextLine);
+		lineReader.useDelimiter(",");
+		try {
+			String name = lineReader.next().trim();
+			String title = lineReader.next().trim();
+			String section = lineReader.next().trim();
+			int credits = lineReader.nextInt();
+			String instructorId = lineReader.next().trim();
+			String meetingDays = lineReader.next().trim();
+			if ("A".equals(meetingDays)) {
+				if (lineReader.hasNext()) {
+					throw new IllegalArgumentException();
+				}
+				return new Course(name, title, section, credits, instructorId, meetingDays);
+			}
+			int startTime = lineReader.nextInt();
+			int endTime = lineReader.nextInt();
+			if (lineReader.hasNext()) {
+				throw new IllegalArgumentException();
+			}
+			return new Course(name, title, section, credits, instructorId, meetingDays, startTime, endTime);
+		} catch (Exception e) {
+			throw new IllegalArgumentException();
+		} finally {
+			lineReader.close();
+		}
+	}
+
+}
@@ -8,11 +8,14 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
@@ -107,6 +110,162 @@ public class CourseRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests readCourseRecordsParallel().
+	 */
+	@Test
+	public void testReadCourseRecordsParallel() {
+		try {
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecordsParallel(validTestFile);
+			assertEquals(13, courses.size());
+			
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+			
+			assertEquals(0, CourseRecordIO.readCourseRecordsParallel(invalidTestFile).size());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+		
+		assertThrows(FileNotFoundException.class, () -> CourseRecordIO.readCourseRecordsParallel("test-files/no_such_file.txt"));
+	}
+	
+	/**
+	 * Tests readCourseRecordsParallel() on a file large enough to be split into several
+	 * chunks, with invalid lines, blank lines, mixed line endings, multi-byte characters,
+	 * and duplicates whose first occurrence is in an earlier chunk.
+	 */
+	@Test
+	public void testReadCourseRecordsParallelChunks() {
+		String[] departments = {"CSC", "MA", "E", "PY"};
+		StringBuilder records = new StringBuilder();
+		int valid = 0;
+		for (int i = 0; i < 24000; i++) {
+			String name = departments[i % 4] + " " + (100 + (i / 4) % 900);
+			String section = String.format("%03d", 1 + i / 3600);
+			String line = name + ",Topic" + "x".repeat(i % 37) + (i % 11 == 0 ? " \u00e9t\u00e9" : "") + "," + section
+					+ ",3,abc" + (i % 50) + (i % 2 == 0 ? ",MW,1330,1445" : ",A");
+			records.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+			valid++;
+			if (i % 97 == 0) {
+				records.append(name + ",Missing Fields,001,3\n");
+			}
+			if (i % 89 == 0) {
+				records.append("\n");
+			}
+			if (i % 1000 == 999) {
+				//Repeat a course from about 40 KB earlier with a different title
+				int j = i - 500;
+				records.append(departments[j % 4] + " " + (100 + (j / 4) % 900) + ",Repeated,"
+						+ String.format("%03d", 1 + j / 3600) + ",3,abc1,A\n");
+			}
+		}
+		//The last line repeats the first course
+		records.append("CSC 100,Repeated,001,3,abc1,A");
+		byte[] bytes = records.toString().getBytes(StandardCharsets.UTF_8);
+		
+		//Every chunk after the first starts on a new line, and some lines were moved past
+		//to find one
+		int[] bounds = CourseRecordIO.chunkBounds(ByteBuffer.wrap(bytes), 4);
+		assertEquals(5, bounds.length);
+		assertEquals(0, bounds[0]);
+		assertEquals(bytes.length, bounds[4]);
+		boolean moved = false;
+		for (int i = 1; i < 4; i++) {
+			assertTrue(bounds[i] > bounds[i - 1]);
+			assertTrue(bytes[bounds[i] - 1] == '\n' || bytes[bounds[i] - 1] == '\r');
+			moved |= bounds[i] != bytes.length / 4 * i;
+		}
+		assertTrue(moved);
+		
+		Path recordsPath = FileSystems.getDefault().getPath("test-files", "actual_parallel_course_records.txt");
+		try {
+			Files.write(recordsPath, bytes);
+			ArrayList<Course> expected = CourseRecordIO.readCourseRecords(recordsPath.toString());
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecordsParallel(recordsPath.toString());
+			assertEquals(valid, expected.size());
+			assertEquals(expected.size(), courses.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).toString(), courses.get(i).toString());
+			}
+			assertEquals("Topic \u00e9t\u00e9", courses.get(0).getTitle());
+		} catch (IOException e) {
+			fail("Unexpected error reading " + recordsPath);
+		}
+	}
+	
+	/**
+	 * Tests readCourseRecords() with a StringPool.
+	 */
+	@Test
+	public void testReadCourseRecordsWithPool() {
+		StringPool pool = new StringPool();
+		try {
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, pool);
+			assertEquals(13, courses.size());
+			
+			//Sections of the same course share their name and title
+			assertSame(courses.get(0).getName(), courses.get(1).getName());
+			assertSame(courses.get(0).getTitle(), courses.get(2).getTitle());
+			assertSame(courses.get(0).getMeetingDays(), courses.get(1).getMeetingDays());
+			assertTrue(pool.getDuplicateCount() > 0);
+			assertTrue(pool.getBytesSaved() > 0);
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+	
+	/**
+	 * Tests streamCourseRecords().
+	 */
+	@Test
+	public void testStreamCourseRecords() {
+		try (Stream<Course> courses = CourseRecordIO.streamCourseRecords(validTestFile)) {
+			String[] csc217 = courses.filter(c -> c.getName().equals("CSC 217"))
+					.map(Course::toString).toArray(String[]::new);
+			assertArrayEquals(new String[] {validCourse7, validCourse8, validCourse9, validCourse10}, csc217);
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+		
+		try (Stream<Course> courses = CourseRecordIO.streamCourseRecords(invalidTestFile)) {
+			assertEquals(0, courses.count());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + invalidTestFile);
+		}
+	}
+	
+	/**
+	 * Tests validateCourseRecords().
+	 */
+	@Test
+	public void testValidateCourseRecords() {
+		try {
+			CourseRecordReport valid = CourseRecordIO.validateCourseRecords(validTestFile);
+			assertEquals(13, valid.getCourses().size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], valid.getCourses().get(i).toString());
+			}
+			assertEquals(1, valid.getRejectedRecords().size());
+			assertEquals(4, valid.getRejectedRecords().get(0).getLineNumber());
+			assertEquals("Duplicate course.", valid.getRejectedRecords().get(0).getReason());
+			
+			CourseRecordReport invalid = CourseRecordIO.validateCourseRecords(invalidTestFile);
+			assertEquals(0, invalid.getCourses().size());
+			assertEquals(25, invalid.getRejectedRecords().size());
+			for (int i = 0; i < 25; i++) {
+				assertEquals(i + 1, invalid.getRejectedRecords().get(i).getLineNumber());
+			}
+			assertEquals("Invalid course name.", invalid.getRejectedRecords().get(0).getReason());
+			assertEquals("Invalid section.", invalid.getRejectedRecords().get(9).getReason());
+			assertEquals("Invalid instructor id.", invalid.getRejectedRecords().get(17).getReason());
+			assertEquals("Too many fields.", invalid.getRejectedRecords().get(24).getReason());
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading course records");
+		}
+	}
+	
 	/**
 	 * Tests writeCourseRecords()
 	 */
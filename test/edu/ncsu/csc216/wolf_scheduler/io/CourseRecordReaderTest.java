@@ -0,0 +1,56 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Tests CourseRecordReader.
+ * @author Daniela Deleon
+ */
+public class CourseRecordReaderTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Invalid course records */
+	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/**
+	 * Tests reading courses one at a time, skipping the duplicate on line 4.
+	 */
+	@Test
+	public void testNext() {
+		try (CourseRecordReader reader = new CourseRecordReader(validTestFile)) {
+			assertEquals("CSC 116,Intro to Programming - Java,001,3,jdyoung2,MW,910,1100", reader.next().toString());
+			assertEquals("CSC 116,Intro to Programming - Java,002,3,spbalik,MW,1120,1310", reader.next().toString());
+			assertEquals("CSC 116,Intro to Programming - Java,003,3,tbdimitr,TH,1120,1310", reader.next().toString());
+			assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445", reader.next().toString());
+			
+			int count = 4;
+			while (reader.hasNext()) {
+				reader.next();
+				count++;
+			}
+			assertEquals(13, count);
+			assertThrows(NoSuchElementException.class, () -> reader.next());
+		} catch (IOException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+	
+	/**
+	 * Tests that invalid lines are skipped.
+	 */
+	@Test
+	public void testInvalidRecords() {
+		try (CourseRecordReader reader = new CourseRecordReader(invalidTestFile)) {
+			assertFalse(reader.hasNext());
+		} catch (IOException e) {
+			fail("Unexpected error reading " + invalidTestFile);
+		}
+	}
+
+}
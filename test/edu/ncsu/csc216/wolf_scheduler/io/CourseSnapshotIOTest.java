@@ -0,0 +1,115 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests CourseSnapshotIO.
+ * @author Daniela Deleon
+ */
+public class CourseSnapshotIOTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+	/** Snapshot written by the tests */
+	private final String snapshotFile = "test-files/actual_course_snapshot.dat";
+
+	/**
+	 * Tests convertCourseRecords() and readCourseSnapshot().
+	 */
+	@Test
+	public void testConvertCourseRecords() {
+		try {
+			CourseSnapshotIO.convertCourseRecords(validTestFile, snapshotFile);
+			assertTrue(CourseSnapshotIO.isCourseSnapshot(snapshotFile));
+			assertFalse(CourseSnapshotIO.isCourseSnapshot(validTestFile));
+			
+			ArrayList<Course> expected = CourseRecordIO.readCourseRecords(validTestFile);
+			ArrayList<Course> actual = CourseSnapshotIO.readCourseSnapshot(snapshotFile);
+			assertEquals(13, actual.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).toString(), actual.get(i).toString());
+			}
+		} catch (IOException e) {
+			fail("Unexpected error converting " + validTestFile);
+		}
+	}
+	
+	/**
+	 * Tests that meeting days out of the usual order are kept as written.
+	 */
+	@Test
+	public void testWriteCourseSnapshotUnorderedDays() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "WM", 1330, 1445));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		
+		try {
+			CourseSnapshotIO.writeCourseSnapshot(snapshotFile, courses);
+			ArrayList<Course> actual = CourseSnapshotIO.readCourseSnapshot(snapshotFile);
+			assertEquals(courses, actual);
+		} catch (IOException e) {
+			fail("Unexpected error writing " + snapshotFile);
+		}
+	}
+	
+	/**
+	 * Tests readCourseSnapshot() with a text file.
+	 */
+	@Test
+	public void testReadCourseSnapshotInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> CourseSnapshotIO.readCourseSnapshot(validTestFile));
+		assertThrows(FileNotFoundException.class, () -> CourseSnapshotIO.readCourseSnapshot("test-files/no_such_file.dat"));
+	}
+	
+	/**
+	 * Tests that a text file whose first course name starts with the letters of the magic
+	 * number is not taken for a snapshot.
+	 * @throws IOException if the file cannot be written
+	 */
+	@Test
+	public void testIsCourseSnapshotText() throws IOException {
+		String textFile = "test-files/actual_wscs_records.txt";
+		Files.write(Paths.get(textFile), "WSCS 101,Intro to Snapshots,001,3,sesmith5,MW,1330,1445\n".getBytes(StandardCharsets.UTF_8));
+		assertFalse(CourseSnapshotIO.isCourseSnapshot(textFile));
+		assertEquals(1, CourseRecordIO.readCourseRecords(textFile).size());
+	}
+	
+	/**
+	 * Tests readCourseSnapshot() with corrupt course counts and a truncated snapshot.
+	 * @throws IOException if the snapshot cannot be written
+	 */
+	@Test
+	public void testReadCourseSnapshotCorrupt() throws IOException {
+		CourseSnapshotIO.convertCourseRecords(validTestFile, snapshotFile);
+		
+		//The count follows the four byte magic number and the version byte
+		for (int count : new int[] {-1, Integer.MAX_VALUE, 14}) {
+			try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+				file.seek(5);
+				file.writeInt(count);
+			}
+			Exception e = assertThrows(IllegalArgumentException.class, () -> CourseSnapshotIO.readCourseSnapshot(snapshotFile));
+			assertEquals("Invalid course snapshot.", e.getMessage());
+		}
+		
+		try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+			file.seek(5);
+			file.writeInt(13);
+			file.setLength(file.length() - 1);
+		}
+		assertThrows(IllegalArgumentException.class, () -> CourseSnapshotIO.readCourseSnapshot(snapshotFile));
+	}
+
+}
@@ -0,0 +1,46 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests StringPool.
+ * @author Daniela Deleon
+ */
+public class StringPoolTest {
+
+	/**
+	 * Tests intern() and the saved memory estimate.
+	 */
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool();
+		String first = new String("Intro to Programming - Java");
+		String second = new String("Intro to Programming - Java");
+		
+		assertSame(first, pool.intern(first));
+		assertSame(first, pool.intern(second));
+		assertSame(first, pool.intern(first));
+		assertEquals("MW", pool.intern("MW"));
+		
+		assertEquals(2, pool.size());
+		
+		//Only second was replaced; interning the pooled copy again saves nothing
+		assertEquals(1, pool.getDuplicateCount());
+		//24 byte String plus a 16 byte header and 27 Latin-1 bytes rounded up to 48
+		assertEquals(24 + 48, pool.getBytesSaved());
+	}
+
+	/**
+	 * Tests sizeOf() for Latin-1 and other Strings.
+	 */
+	@Test
+	public void testSizeOf() {
+		assertEquals(24 + 16, StringPool.sizeOf(""));
+		assertEquals(24 + 24, StringPool.sizeOf("CSC 216"));
+		assertEquals(24 + 24, StringPool.sizeOf("\u03a3\u03a3"));
+		assertEquals(24 + 32, StringPool.sizeOf("\u03a3\u03a3\u03a3\u03a3\u03a3"));
+	}
+
+}
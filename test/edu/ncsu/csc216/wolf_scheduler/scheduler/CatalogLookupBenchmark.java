@@ -0,0 +1,166 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures WolfScheduler.getCourseFromCatalog() on catalogs of 1k, 10k, 100k, and 1M
+ * courses, against the scan over a list of courses it replaced. Each catalog is written
+ * to a temporary file and loaded the way the scheduler loads it, and the same random
+ * names and sections are looked up with both. Other catalog sizes can be given as
+ * arguments. The 1M catalog needs about 1 GB of heap. Run it from the project directory:
+ * <pre>
+ * java -Xmx1g edu.ncsu.csc216.wolf_scheduler.scheduler.CatalogLookupBenchmark [sizes]
+ * </pre>
+ * This is not a JUnit test, so it does not run with the tests.
+ *
+ * @author Daniela Deleon
+ */
+public class CatalogLookupBenchmark {
+
+	/** Catalog sizes measured when none are given */
+	private static final int[] DEFAULT_SIZES = {1000, 10000, 100000, 1000000};
+	/** Department letters of the generated courses */
+	private static final String[] DEPARTMENTS = {"CSC", "MA", "PY", "CH", "E", "ST", "BIO", "HI"};
+	/** Number of different course numbers in each department */
+	private static final int NUMBERS = 900;
+	/** Number of distinct names and sections looked up */
+	private static final int KEYS = 1000;
+	/** Lookups timed through the catalog index */
+	private static final int INDEX_LOOKUPS = 1000000;
+	/** Course comparisons the timed scans may make in total, to bound their run time */
+	private static final long SCAN_BUDGET = 100000000L;
+
+	/**
+	 * Runs the benchmark
+	 * @param args the catalog sizes to measure, or nothing for the defaults
+	 * @throws IOException if a catalog file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int[] sizes = DEFAULT_SIZES;
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+
+		System.out.printf("%10s %16s %16s%n", "courses", "scan us/lookup", "index us/lookup");
+		for (int size : sizes) {
+			Path file = writeCatalog(size);
+			try {
+				measure(file.toString(), size);
+			} finally {
+				Files.delete(file);
+			}
+		}
+	}
+
+	/**
+	 * Times lookups in one catalog with the scan and with the scheduler and prints them
+	 * @param fileName the catalog file
+	 * @param size the number of courses in the catalog
+	 * @throws IOException if the catalog cannot be read
+	 */
+	private static void measure(String fileName, int size) throws IOException {
+		Random random = new Random(size);
+		String[] names = new String[KEYS];
+		String[] sections = new String[KEYS];
+		for (int i = 0; i < KEYS; i++) {
+			int course = random.nextInt(size);
+			names[i] = nameOf(course);
+			sections[i] = sectionOf(course);
+		}
+
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(fileName);
+		int scans = (int) Math.max(KEYS, SCAN_BUDGET / size);
+		long found = 0;
+		for (int i = 0; i < KEYS; i++) {
+			found += scan(courses, names[i], sections[i]) == null ? 0 : 1;
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < scans; i++) {
+			found += scan(courses, names[i % KEYS], sections[i % KEYS]) == null ? 0 : 1;
+		}
+		double scanTime = (System.nanoTime() - start) / 1e3 / scans;
+		courses = null;
+
+		WolfScheduler scheduler = new WolfScheduler(fileName);
+		for (int i = 0; i < INDEX_LOOKUPS; i++) {
+			found += scheduler.getCourseFromCatalog(names[i % KEYS], sections[i % KEYS]) == null ? 0 : 1;
+		}
+		start = System.nanoTime();
+		for (int i = 0; i < INDEX_LOOKUPS; i++) {
+			found += scheduler.getCourseFromCatalog(names[i % KEYS], sections[i % KEYS]) == null ? 0 : 1;
+		}
+		double indexTime = (System.nanoTime() - start) / 1e3 / INDEX_LOOKUPS;
+
+		if (found != KEYS + scans + 2L * INDEX_LOOKUPS) {
+			throw new IllegalStateException("A generated course was not found");
+		}
+		System.out.printf("%10d %16.3f %16.3f%n", size, scanTime, indexTime);
+	}
+
+	/**
+	 * Finds a course by checking each course in order, the way getCourseFromCatalog()
+	 * did before the catalog was indexed
+	 * @param courses the catalog courses
+	 * @param name the name of the course
+	 * @param section the section of the course
+	 * @return the course, or null if it is not in the catalog
+	 */
+	private static Course scan(ArrayList<Course> courses, String name, String section) {
+		for (int i = 0; i < courses.size(); i++) {
+			Course course = courses.get(i);
+			if (course.getName().equals(name) && course.getSection().equals(section)) {
+				return course;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Writes a temporary catalog file with the given number of distinct courses
+	 * @param size the number of courses
+	 * @return the file
+	 * @throws IOException if the file cannot be written
+	 */
+	private static Path writeCatalog(int size) throws IOException {
+		Path file = Files.createTempFile("catalog", ".txt");
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < size; i++) {
+				writer.write(nameOf(i) + ",Course Title " + (i % 5000) + "," + sectionOf(i) + ",3,instr" + (i % 800)
+						+ (i % 4 == 0 ? ",A" : ",MW,1330,1445"));
+				writer.newLine();
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Returns the name of a generated course
+	 * @param course the number of the course in the catalog
+	 * @return the course name
+	 */
+	private static String nameOf(int course) {
+		return DEPARTMENTS[course % DEPARTMENTS.length] + " " + (100 + course / DEPARTMENTS.length % NUMBERS);
+	}
+
+	/**
+	 * Returns the section of a generated course
+	 * @param course the number of the course in the catalog
+	 * @return the course section
+	 */
+	private static String sectionOf(int course) {
+		return String.format("%03d", 1 + course / (DEPARTMENTS.length * NUMBERS));
+	}
+
+}
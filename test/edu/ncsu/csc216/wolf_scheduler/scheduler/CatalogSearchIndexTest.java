@@ -0,0 +1,156 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+
+/**
+ * Tests CatalogSearchIndex.
+ * @author Daniela Deleon
+ */
+public class CatalogSearchIndexTest {
+
+	/** Letters course names and titles are made from, so that many of them share prefixes */
+	private static final String[] PIECES = {"C", "S", "M", "c", "s", " ", "1", "2", "CS", "CSC"};
+
+	/**
+	 * Tests search() and count() on fixed courses whose names and titles share prefixes.
+	 */
+	@Test
+	public void testSearch() {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445));
+		courses.add(new Course("CSC 116", "CSC Tools", "001", 3, "jdyoung2", "MW", 910, 1100));
+		courses.add(new Course("MA 141", "Calculus I", "001", 4, "abcdef", "TH", 800, 915));
+		courses.add(new Course("CH 101", "Chemistry", "001", 3, "ghijkl", "TH", 1500, 1615));
+		CatalogSearchIndex index = new CatalogSearchIndex(new CourseCatalog(courses.iterator()));
+
+		//CSC 116 matches by name and title and is only listed once
+		assertEquals(2, index.count("cs"));
+		assertArrayEquals(new int[] {1, 0}, index.search("cs", 0, 10));
+
+		//Name matches come first, then title matches
+		assertEquals(4, index.count("c"));
+		assertArrayEquals(new int[] {3, 1, 0, 2}, index.search("C", 0, 10));
+		assertArrayEquals(new int[] {0, 2}, index.search("c", 2, 10));
+		assertArrayEquals(new int[] {2}, index.search("c", 3, 1));
+		assertArrayEquals(new int[0], index.search("c", 4, 10));
+
+		assertEquals(4, index.count(""));
+		assertEquals(0, index.count("x"));
+		assertArrayEquals(new int[0], index.search("x", 0, 10));
+	}
+
+	/**
+	 * Tests every page of search() and count() against a search of every course, for
+	 * random courses whose names and titles often share prefixes, both over a whole
+	 * catalog and over part of one.
+	 */
+	@Test
+	public void testSearchMatchesEveryCourse() {
+		Random random = new Random(216);
+		ArrayList<Course> courses = new ArrayList<Course>();
+		for (int i = 0; i < 400; i++) {
+			String letters = "CSM".substring(random.nextInt(3), 3);
+			String name = letters.substring(0, 1 + random.nextInt(letters.length())) + " " + (100 + random.nextInt(20));
+			StringBuilder title = new StringBuilder(name.substring(0, random.nextInt(name.length())));
+			for (int j = random.nextInt(4); j >= 0; j--) {
+				title.append(PIECES[random.nextInt(PIECES.length)]);
+			}
+			courses.add(new Course(name, title.toString(), String.format("%03d", i % 1000), 3, "id", "A", 0, 0));
+		}
+		CourseCatalog catalog = new CourseCatalog(courses.iterator());
+
+		int[] subset = new int[catalog.size() / 3];
+		for (int i = 0; i < subset.length; i++) {
+			subset[i] = i * 3 + 1;
+		}
+		checkIndex(catalog, null, new CatalogSearchIndex(catalog));
+		checkIndex(catalog, subset, new CatalogSearchIndex(catalog, subset));
+	}
+
+	/**
+	 * Checks an index against the ranked matches of each course it covers, for prefixes
+	 * made from the letters of the course names
+	 * @param catalog the indexed catalog
+	 * @param subset the indexed positions, or null for all of them
+	 * @param index the index to check
+	 */
+	private static void checkIndex(CourseCatalog catalog, int[] subset, CatalogSearchIndex index) {
+		String[] prefixes = {"", "c", "C", "cs", "csc", "csc ", "csc 1", "csc 11", "s", "s ", "sm", "m", "m 1",
+				"ms", "1", "cc", "cs1", "zz"};
+		for (String prefix : prefixes) {
+			int[] expected = rankedMatches(catalog, subset, prefix);
+			assertEquals(expected.length, index.count(prefix), "count " + prefix);
+			assertArrayEquals(expected, index.search(prefix, 0, catalog.size()), "search " + prefix);
+			for (int offset = 0; offset <= expected.length; offset += 7) {
+				int end = Math.min(expected.length, offset + 5);
+				assertArrayEquals(Arrays.copyOfRange(expected, offset, end), index.search(prefix, offset, 5),
+						"page " + prefix + " " + offset);
+			}
+		}
+	}
+
+	/**
+	 * Returns the courses matching a prefix in ranked order by checking every course
+	 * @param catalog the catalog to search
+	 * @param subset the positions to search, or null for all of them
+	 * @param prefix the start of the course name or title
+	 * @return the catalog positions of the matches, name matches first
+	 */
+	private static int[] rankedMatches(CourseCatalog catalog, int[] subset, String prefix) {
+		String key = prefix.toLowerCase(Locale.ROOT);
+		List<Integer> byName = new ArrayList<Integer>();
+		List<Integer> byTitle = new ArrayList<Integer>();
+		int count = subset == null ? catalog.size() : subset.length;
+		for (int j = 0; j < count; j++) {
+			int i = subset == null ? j : subset[j];
+			if (nameKey(catalog, i).startsWith(key)) {
+				byName.add(i);
+			} else if (titleKey(catalog, i).startsWith(key)) {
+				byTitle.add(i);
+			}
+		}
+		byName.sort((a, b) -> nameKey(catalog, a).compareTo(nameKey(catalog, b)));
+		byTitle.sort((a, b) -> titleKey(catalog, a).compareTo(titleKey(catalog, b)));
+
+		int[] ranked = new int[byName.size() + byTitle.size()];
+		for (int i = 0; i < byName.size(); i++) {
+			ranked[i] = byName.get(i);
+		}
+		for (int i = 0; i < byTitle.size(); i++) {
+			ranked[byName.size() + i] = byTitle.get(i);
+		}
+		return ranked;
+	}
+
+	/**
+	 * Returns the lower cased name of a course
+	 * @param catalog the catalog the course is in
+	 * @param position the catalog position of the course
+	 * @return the name key
+	 */
+	private static String nameKey(CourseCatalog catalog, int position) {
+		return catalog.getName(position).toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Returns the lower cased title of a course
+	 * @param catalog the catalog the course is in
+	 * @param position the catalog position of the course
+	 * @return the title key
+	 */
+	private static String titleKey(CourseCatalog catalog, int position) {
+		return catalog.getTitle(position).toLowerCase(Locale.ROOT);
+	}
+
+}
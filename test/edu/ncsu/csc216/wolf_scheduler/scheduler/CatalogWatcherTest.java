@@ -0,0 +1,119 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests CatalogWatcher.
+ * @author Daniela Deleon
+ */
+public class CatalogWatcherTest {
+
+	/** Catalog record written by the tests */
+	private static final String RECORD = "CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445\n";
+	/** Longest time to wait for the watcher to notice a change */
+	private static final long TIMEOUT_MILLIS = 10000;
+
+	/**
+	 * Tests that a burst of writes to the catalog runs the callback once, only after the
+	 * file has been quiet for the debounce time, and that other files are ignored.
+	 * @throws IOException if the files cannot be written
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public void testCallbackAfterChange() throws IOException, InterruptedException {
+		Path directory = Files.createTempDirectory("catalog-watcher");
+		Path catalog = directory.resolve("catalog.txt");
+		Files.write(catalog, RECORD.getBytes());
+
+		AtomicInteger calls = new AtomicInteger();
+		AtomicLong calledAt = new AtomicLong();
+		CatalogWatcher watcher = new CatalogWatcher(catalog.toString(), () -> {
+			calledAt.set(System.nanoTime());
+			calls.incrementAndGet();
+		});
+		try {
+			//Changes to other files in the directory do not count
+			Files.write(directory.resolve("other.txt"), RECORD.getBytes());
+			Thread.sleep(1000);
+			assertEquals(0, calls.get());
+
+			//Write the catalog in several steps, as an editor might, timing each write
+			long lastWrite = 0;
+			long longestGap = 0;
+			for (int i = 0; i < 3; i++) {
+				if (i > 0) {
+					Thread.sleep(50);
+				}
+				Files.write(catalog, RECORD.getBytes(), StandardOpenOption.APPEND);
+				long now = System.nanoTime();
+				if (i > 0) {
+					longestGap = Math.max(longestGap, now - lastWrite);
+				}
+				lastWrite = now;
+			}
+			assertTrue(waitForCalls(calls, 1), "Watcher did not notice the change");
+			Thread.sleep(1000);
+
+			//The last callback waits for the debounce time after the last write, with
+			//some slack for the write's event arriving before the write returns
+			assertTrue(calledAt.get() - lastWrite >= 200 * 1000000L, "Callback ran before the file was quiet");
+
+			//The whole burst runs the callback once, unless the test thread was held up
+			//between writes for longer than the debounce time
+			if (longestGap < 250 * 1000000L) {
+				assertEquals(1, calls.get());
+			}
+		} finally {
+			watcher.close();
+		}
+
+		//Once closed, changes are no longer reported and the thread stops
+		int callsBeforeClose = calls.get();
+		Files.write(catalog, RECORD.getBytes());
+		Thread.sleep(1000);
+		assertEquals(callsBeforeClose, calls.get());
+		assertFalse(isWatcherThreadAlive());
+
+		Files.delete(catalog);
+		Files.delete(directory.resolve("other.txt"));
+		Files.delete(directory);
+	}
+
+	/**
+	 * Waits until the callback has run the given number of times
+	 * @param calls the number of times the callback has run
+	 * @param expected the number of times to wait for
+	 * @return true if the callback ran that many times before the timeout
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	private static boolean waitForCalls(AtomicInteger calls, int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (calls.get() < expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		return calls.get() >= expected;
+	}
+
+	/**
+	 * Returns true if a catalog watcher thread is still running
+	 * @return true if a thread named catalog-watcher is alive
+	 */
+	private static boolean isWatcherThreadAlive() {
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if ("catalog-watcher".equals(thread.getName()) && thread.isAlive()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -10,10 +10,18 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.CourseCatalog;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
 
 /**
  * Tests the WolfScheduler class.
@@ -139,6 +147,25 @@ public class WolfSchedulerTest {
 		} catch (IllegalArgumentException e) {
 			assertEquals("You are already enrolled in CSC 216", e.getMessage());
 		}
+		
+		//CSC 116-003 meets TH 11:20AM-1:10PM, which ends before CSC 216-001 starts
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
+		
+		//CSC 217-211 meets T 8:30AM-10:20AM, which touches no time in the schedule
+		assertTrue(ws.addCourseToSchedule("CSC 217", "211"));
+		
+		//CSC 230-001 meets MW 11:45AM-1:00PM and CSC 316-001 meets MW 8:30AM-9:45AM
+		assertTrue(ws.addCourseToSchedule("CSC 230", "001"));
+		assertTrue(ws.addCourseToSchedule("CSC 316", "001"));
+		
+		//CSC 226-001 meets MWF 9:35AM-10:25AM, which overlaps CSC 316-001 part way through
+		try {
+			ws.addCourseToSchedule("CSC 226", "001");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The course cannot be added due to a conflict.", e.getMessage());
+		}
+		assertEquals(5, ws.getScheduledActivities().length);
 	}
 	
 	/**
@@ -168,6 +195,182 @@ public class WolfSchedulerTest {
 		} catch (IllegalArgumentException e) {
 			assertEquals("You have already created an event called Exercise", e.getMessage());
 		}
+		
+		//An event overlapping the exercise time on one shared day conflicts
+		try {
+			ws.addEventToSchedule("Coffee", "F", 830, 930, "");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The event cannot be added due to a conflict.", e.getMessage());
+		}
+		
+		//An event that starts when exercise ends conflicts, but not on a weekend
+		try {
+			ws.addEventToSchedule("Breakfast", "MW", 900, 1000, "");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The event cannot be added due to a conflict.", e.getMessage());
+		}
+		ws.addEventToSchedule("Breakfast", "SU", 900, 1000, "");
+		
+		//A course overlapping an event conflicts too
+		ws.addEventToSchedule("Lunch", "MW", 1200, 1300, "");
+		try {
+			ws.addCourseToSchedule("CSC 116", "002");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The course cannot be added due to a conflict.", e.getMessage());
+		}
+		assertEquals(3, ws.getScheduledActivities().length);
+	}
+	
+	/**
+	 * Test that the duplicate title checks in addCourseToSchedule() and
+	 * addEventToSchedule() follow the activities as they are added, removed, reset, and
+	 * reloaded.
+	 */
+	@Test
+	public void testDuplicateTitles() {
+		Path catalogPath = FileSystems.getDefault().getPath("test-files", "actual_title_catalog.txt");
+		try {
+			Files.copy(FileSystems.getDefault().getPath(validTestFile), catalogPath, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			fail("Unable to copy catalog");
+		}
+		WolfScheduler ws = new WolfScheduler(catalogPath.toString());
+		
+		//An event cannot have a course's title, but a course can have an event's title
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		Exception e1 = assertThrows(IllegalArgumentException.class, () -> ws.addEventToSchedule(TITLE, "F", 800, 900, ""));
+		assertEquals("You have already created an event called " + TITLE, e1.getMessage());
+		ws.addEventToSchedule("C and Software Tools", "F", 800, 900, "");
+		assertTrue(ws.addCourseToSchedule("CSC 230", "001"));
+		
+		//Removing an activity frees its title, unless another activity still has it
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertTrue(ws.addCourseToSchedule(NAME, "601"));
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertThrows(IllegalArgumentException.class, () -> ws.addEventToSchedule("C and Software Tools", "F", 800, 900, ""));
+		assertTrue(ws.removeActivityFromSchedule(0));
+		ws.addEventToSchedule("C and Software Tools", "F", 800, 900, "");
+		
+		//Resetting frees every title
+		ws.resetSchedule();
+		ws.addEventToSchedule("C and Software Tools", "F", 800, 900, "");
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		
+		//A reload can give two scheduled courses the same title, and the title stays
+		//taken until both are removed
+		assertTrue(ws.addCourseToSchedule("CSC 116", "003"));
+		try {
+			Files.write(catalogPath, ("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445\n"
+					+ "CSC 216,Software Development Fundamentals,002,3,ixdoming,MW,1330,1445\n"
+					+ "CSC 116,Software Development Fundamentals,003,3,tbdimitr,TH,1120,1310\n").getBytes());
+		} catch (IOException e) {
+			fail("Unable to write catalog");
+		}
+		ws.reloadCatalog();
+		assertTrue(ws.removeActivityFromSchedule(1));
+		Exception e2 = assertThrows(IllegalArgumentException.class, () -> ws.addCourseToSchedule(NAME, "002"));
+		assertEquals("You are already enrolled in CSC 216", e2.getMessage());
+		assertTrue(ws.removeActivityFromSchedule(1));
+		assertTrue(ws.addCourseToSchedule(NAME, "002"));
+	}
+	
+	/**
+	 * Test WolfScheduler.getCatalogConflicts() and conflictsWithSchedule().
+	 */
+	@Test
+	public void testCatalogConflicts() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		boolean [] conflicts = ws.getCatalogConflicts();
+		assertEquals(ws.getCourseCatalog().length, conflicts.length);
+		for (boolean conflict : conflicts) {
+			assertFalse(conflict);
+		}
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule("Lunch", "MW", 1200, 1300, "");
+		assertTrue(ws.addCourseToSchedule("CSC 316", "001"));
+		
+		//CSC 116-001 and CSC 226-001 overlap CSC 316-001, CSC 116-002, CSC 217-202 and
+		//CSC 230-001 overlap lunch, and the scheduled sections conflict with themselves
+		conflicts = ws.getCatalogConflicts();
+		boolean [] expected = {true, true, false, true, false, false, true, false, false, false, true, true, true};
+		assertEquals(expected.length, conflicts.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], conflicts[i], ws.getCourseCatalog()[i][0] + "-" + ws.getCourseCatalog()[i][1]);
+		}
+		
+		assertTrue(ws.conflictsWithSchedule("CSC 226", "001"));
+		assertFalse(ws.conflictsWithSchedule("CSC 217", "223"));
+		assertFalse(ws.conflictsWithSchedule("CSC 216", "601"));
+		assertFalse(ws.conflictsWithSchedule("CSC 492", "001"));
+	}
+	
+	/**
+	 * Test WolfScheduler.getScheduleConflicts() and findConflicts().
+	 */
+	@Test
+	public void testScheduleConflicts() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertEquals(0, ws.getScheduleConflicts().length);
+		
+		//A schedule built through the add methods never conflicts
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule("Lunch", "MW", 1200, 1300, "");
+		assertTrue(ws.addCourseToSchedule("CSC 316", "001"));
+		assertEquals(0, ws.getScheduleConflicts().length);
+		
+		//Touching activities conflict, and arranged courses never do
+		List<Activity> activities = Arrays.asList(
+				new Event("Study", "MW", 1000, 1100, ""),
+				new Event("Gym", "W", 1100, 1200, ""),
+				new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jep", "A"),
+				new Event("Work", "F", 900, 1000, ""),
+				new Event("Club", "MF", 1030, 1130, ""),
+				new Event("Coffee", "F", 800, 930, ""));
+		int[][] conflicts = WolfScheduler.findConflicts(activities);
+		assertEquals(3, conflicts.length);
+		assertArrayEquals(new int[] {0, 1}, conflicts[0]);
+		assertArrayEquals(new int[] {0, 4}, conflicts[1]);
+		assertArrayEquals(new int[] {3, 5}, conflicts[2]);
+	}
+	
+	/**
+	 * Test WolfScheduler.generateSchedules().
+	 */
+	@Test
+	public void testGenerateSchedules() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//CSC 116-001 overlaps CSC 226-001, so every other combination is listed
+		String [] names = {"CSC 116", "CSC 216", "CSC 226", "CSC 116"};
+		String [][] expected = {{"002", "001"}, {"002", "002"}, {"002", "601"},
+				{"003", "001"}, {"003", "002"}, {"003", "601"}};
+		String [][][] schedules = ws.generateSchedules(names, 100);
+		assertEquals(expected.length, schedules.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(3, schedules[i].length);
+			assertEquals("CSC 116", schedules[i][0][0]);
+			assertEquals(expected[i][0], schedules[i][0][1]);
+			assertEquals("CSC 216", schedules[i][1][0]);
+			assertEquals(expected[i][1], schedules[i][1][1]);
+			assertEquals("CSC 226", schedules[i][2][0]);
+			assertEquals("001", schedules[i][2][1]);
+		}
+		
+		//The search stops at the limit
+		schedules = ws.generateSchedules(names, 2);
+		assertEquals(2, schedules.length);
+		assertEquals("002", schedules[1][1][1]);
+		
+		//CSC 226-001 and CSC 316-001 always overlap, and unknown courses have no sections
+		assertEquals(0, ws.generateSchedules(new String[] {"CSC 226", "CSC 316"}, 100).length);
+		assertEquals(0, ws.generateSchedules(new String[] {"CSC 216", "CSC 999"}, 100).length);
+		
+		Exception e = assertThrows(IllegalArgumentException.class, () -> ws.generateSchedules(names, 0));
+		assertEquals("Invalid limit.", e.getMessage());
 	}
 	
 	/**
@@ -214,6 +417,14 @@ public class WolfSchedulerTest {
 		assertEquals(0, ws.getScheduledActivities().length);
 		assertEquals(0, ws.getFullScheduledActivities().length);
 		
+		//Check that removed activities no longer take their meeting times
+		ws.addEventToSchedule("Block", "MTWHFSU", 100, 2359, "");
+		assertThrows(IllegalArgumentException.class,
+				() -> ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS));
+		assertTrue(ws.removeActivityFromSchedule(0));
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertTrue(ws.removeActivityFromSchedule(0));
+		
 		//Check that removing all doesn't break future adds
 		assertTrue(ws.addCourseToSchedule("CSC 230", "001"));
 		assertEquals(1, ws.getScheduledActivities().length);
@@ -231,6 +442,7 @@ public class WolfSchedulerTest {
 		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
 		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
 		assertTrue(ws.addCourseToSchedule("CSC 116", "002"));
+		assertThrows(IllegalArgumentException.class, () -> ws.addEventToSchedule("Block", "MTWHFSU", 100, 2359, ""));
 		assertEquals(3, ws.getScheduledActivities().length);
 		assertEquals(3, ws.getFullScheduledActivities().length);
 		
@@ -238,6 +450,10 @@ public class WolfSchedulerTest {
 		assertEquals(0, ws.getScheduledActivities().length);
 		assertEquals(0, ws.getFullScheduledActivities().length);
 		
+		//Check that resetting frees every meeting time
+		ws.addEventToSchedule("Block", "MTWHFSU", 100, 2359, "");
+		assertTrue(ws.removeActivityFromSchedule(0));
+		
 		//Check that resetting doesn't break future adds
 		assertTrue(ws.addCourseToSchedule("CSC 230", "001"));
 		assertEquals(1, ws.getScheduledActivities().length);
@@ -319,7 +535,7 @@ public class WolfSchedulerTest {
 		//Name, section, title
 		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
 		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
-		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
+		ws.addEventToSchedule("Lunch", "MWF", 1315, 1400, "Food");
 		assertTrue(ws.addCourseToSchedule("CSC 116", "002"));
 		
 		String [][] schedule = ws.getScheduledActivities();
@@ -337,7 +553,7 @@ public class WolfSchedulerTest {
 		assertEquals("", schedule[2][0]);
 		assertEquals("", schedule[2][1]);
 		assertEquals("Lunch", schedule[2][2]);
-		assertEquals("MWF 12:00PM-1:00PM", schedule[2][3]);
+		assertEquals("MWF 1:15PM-2:00PM", schedule[2][3]);
 		//Row 3
 		assertEquals("CSC 116", schedule[3][0]);
 		assertEquals("002", schedule[3][1]);
@@ -356,7 +572,7 @@ public class WolfSchedulerTest {
 		//Name, section, title, credits, instructor id, meeting string
 		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
 		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
-		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
+		ws.addEventToSchedule("Lunch", "MWF", 1315, 1400, "Food");
 		assertTrue(ws.addCourseToSchedule("CSC 116", "002"));
 		
 		String [][] schedule = ws.getFullScheduledActivities();
@@ -382,7 +598,7 @@ public class WolfSchedulerTest {
 		assertEquals("Lunch", schedule[2][2]);
 		assertEquals("", schedule[2][3]);
 		assertEquals("", schedule[2][4]);
-		assertEquals("MWF 12:00PM-1:00PM", schedule[2][5]);
+		assertEquals("MWF 1:15PM-2:00PM", schedule[2][5]);
 		assertEquals("Food", schedule[2][6]);
 		//Row 3
 		assertEquals("CSC 116", schedule[3][0]);
@@ -431,6 +647,354 @@ public class WolfSchedulerTest {
 		assertEquals(2, ws.getScheduledActivities().length);
 		ws.exportSchedule("test-files/actual_schedule_export.txt");
 		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
+		
+		//A file name the file system cannot use cannot be saved to
+		Exception e = assertThrows(IllegalArgumentException.class, () -> ws.exportSchedule("test-files/actual\0export.txt"));
+		assertEquals("The file cannot be saved.", e.getMessage());
+	}
+	
+	/**
+	 * Test WolfScheduler.exportScheduleAsync().
+	 */
+	@Test
+	public void testExportScheduleAsync() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourseToSchedule("CSC 216", "002");
+		ws.addCourseToSchedule("CSC 226", "001");
+		
+		int[] lastTotal = new int[1];
+		try {
+			ws.exportScheduleAsync("test-files/actual_async_export.txt", (written, total) -> {
+				lastTotal[0] = total;
+				return true;
+			}).get();
+		} catch (InterruptedException | ExecutionException e) {
+			fail("Unable to export schedule");
+		}
+		assertEquals(2, lastTotal[0]);
+		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_async_export.txt");
+		
+		//A directory that does not exist cannot be saved to
+		ExecutionException e = assertThrows(ExecutionException.class, 
+				() -> ws.exportScheduleAsync("test-files/missing/actual_async_export.txt", null).get());
+		assertEquals("The file cannot be saved.", e.getCause().getMessage());
+		
+		//A file name the file system cannot use cannot be saved to
+		e = assertThrows(ExecutionException.class, 
+				() -> ws.exportScheduleAsync("test-files/actual\0async_export.txt", null).get(5, TimeUnit.SECONDS));
+		assertEquals("The file cannot be saved.", e.getCause().getMessage());
+		
+		//An exception thrown by progress completes the future instead of leaving it waiting
+		e = assertThrows(ExecutionException.class, 
+				() -> ws.exportScheduleAsync("test-files/actual_async_export.txt", (written, total) -> {
+					throw new IllegalStateException("Progress failed.");
+				}).get(5, TimeUnit.SECONDS));
+		assertTrue(e.getCause() instanceof IllegalStateException);
+		assertEquals("Progress failed.", e.getCause().getMessage());
+		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_async_export.txt");
+	}
+	
+	/**
+	 * Test WolfScheduler.searchCatalog() and getCatalogMatchCount().
+	 */
+	@Test
+	public void testSearchCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//Name matches are paged in alphabetical order, then catalog order
+		assertEquals(9, ws.getCatalogMatchCount("CSC 2"));
+		String [][] page = ws.searchCatalog("csc 2", 0, 5);
+		assertEquals(5, page.length);
+		assertEquals("CSC 216", page[0][0]);
+		assertEquals("001", page[0][1]);
+		assertEquals("CSC 217", page[4][0]);
+		assertEquals("211", page[4][1]);
+		page = ws.searchCatalog("csc 2", 1, 5);
+		assertEquals(4, page.length);
+		assertEquals("CSC 217", page[0][0]);
+		assertEquals("223", page[0][1]);
+		assertEquals("CSC 230", page[3][0]);
+		assertEquals(0, ws.searchCatalog("csc 2", 2, 5).length);
+		
+		//Title matches, ignoring case
+		assertEquals(7, ws.getCatalogMatchCount("SOFTWARE DEV"));
+		page = ws.searchCatalog("Software Dev", 0, 10);
+		assertEquals(7, page.length);
+		assertEquals("Software Development Fundamentals", page[0][2]);
+		assertEquals("Software Development Fundamentals Lab", page[6][2]);
+		
+		//Courses matching by both name and title are only listed once
+		assertEquals(13, ws.getCatalogMatchCount("c"));
+		assertEquals(13, ws.searchCatalog("c", 0, 20).length);
+		assertEquals(0, ws.getCatalogMatchCount("MA 141"));
+		
+		assertThrows(IllegalArgumentException.class, () -> ws.searchCatalog("CSC", -1, 5));
+		assertThrows(IllegalArgumentException.class, () -> ws.searchCatalog("CSC", 0, 0));
+	}
+	
+	/**
+	 * Test WolfScheduler.getInstructorCourses(), getInstructorCourseCount(), and
+	 * getInstructorIds().
+	 */
+	@Test
+	public void testInstructorCourses() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		String [][] courses = ws.getInstructorCourses("sesmith5");
+		assertEquals(5, courses.length);
+		assertEquals(5, ws.getInstructorCourseCount("sesmith5"));
+		assertEquals("CSC 216", courses[0][0]);
+		assertEquals("001", courses[0][1]);
+		assertEquals("CSC 217", courses[4][0]);
+		assertEquals("601", courses[4][1]);
+		
+		//The duplicate CSC 116-002 taught by jtking is not in the catalog
+		assertEquals(1, ws.getInstructorCourseCount("jtking"));
+		assertEquals("CSC 316", ws.getInstructorCourses("jtking")[0][0]);
+		
+		assertEquals(0, ws.getInstructorCourses("nobody").length);
+		assertEquals(0, ws.getInstructorCourseCount("nobody"));
+		
+		String [] ids = ws.getInstructorIds();
+		assertEquals(9, ids.length);
+		assertEquals("dbsturgi", ids[0]);
+		assertEquals("tmbarnes", ids[8]);
+	}
+	
+	/**
+	 * Test WolfScheduler.getCoursesMeetingWithin() and getCoursesOverlapping().
+	 */
+	@Test
+	public void testMeetingTimeQueries() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		String [][] courses = ws.getCoursesMeetingWithin("M", 1000, 1400);
+		assertEquals(3, courses.length);
+		assertEquals("CSC 116", courses[0][0]);
+		assertEquals("002", courses[0][1]);
+		assertEquals("CSC 217", courses[1][0]);
+		assertEquals("CSC 230", courses[2][0]);
+		assertEquals(1, ws.getCoursesMeetingWithin("T", 800, 1100).length);
+		assertEquals(0, ws.getCoursesMeetingWithin("S", 800, 2000).length);
+		assertThrows(IllegalArgumentException.class, () -> ws.getCoursesMeetingWithin("A", 800, 1100));
+		assertThrows(IllegalArgumentException.class, () -> ws.getCoursesMeetingWithin("MW", 800, 1100));
+		
+		//Touching endpoints overlap, so CSC 116-001 ending at 1100 is included
+		courses = ws.getCoursesOverlapping(new Event("Lunch", "MWF", 1100, 1200, ""));
+		assertEquals(4, courses.length);
+		assertEquals("CSC 116", courses[0][0]);
+		assertEquals("001", courses[0][1]);
+		assertEquals("CSC 230", courses[3][0]);
+		
+		//A course does not overlap itself
+		assertEquals(0, ws.getCoursesOverlapping(ws.getCourseFromCatalog("CSC 216", "002")).length);
+	}
+	
+	/**
+	 * Test the department queries and that queries across the catalog merge the
+	 * department results in the same order as a single catalog.
+	 */
+	@Test
+	public void testDepartments() {
+		WolfScheduler ws = new WolfScheduler("test-files/department_course_records.txt");
+		
+		String [] departments = ws.getDepartments();
+		assertEquals(3, departments.length);
+		assertEquals("CH", departments[0]);
+		assertEquals("CSC", departments[1]);
+		assertEquals("MA", departments[2]);
+		
+		String [][] csc = ws.getDepartmentCourses("CSC");
+		assertEquals(3, csc.length);
+		assertEquals("CSC 116", csc[0][0]);
+		assertEquals("CSC 216", csc[1][0]);
+		assertEquals("CSC 230", csc[2][0]);
+		assertEquals(0, ws.getDepartmentCourses("EE").length);
+		
+		//Name matches from every department come before the title match for Calculus I
+		String [][] matches = ws.searchCatalog("c", 0, 10);
+		assertEquals(5, matches.length);
+		assertEquals(5, ws.getCatalogMatchCount("c"));
+		assertEquals("CH 101", matches[0][0]);
+		assertEquals("CSC 116", matches[1][0]);
+		assertEquals("CSC 216", matches[2][0]);
+		assertEquals("CSC 230", matches[3][0]);
+		assertEquals("MA 141", matches[4][0]);
+		matches = ws.searchCatalog("c", 1, 2);
+		assertEquals("CSC 216", matches[0][0]);
+		assertEquals("CSC 230", matches[1][0]);
+		
+		matches = ws.searchCatalog("intro", 0, 10);
+		assertEquals(2, matches.length);
+		assertEquals("CSC 116", matches[0][0]);
+		assertEquals("MA 305", matches[1][0]);
+		
+		//Department searches only see their own courses
+		matches = ws.searchDepartment("MA", "intro", 0, 10);
+		assertEquals(1, matches.length);
+		assertEquals("MA 305", matches[0][0]);
+		assertEquals("MA 141", ws.searchDepartment("MA", "c", 0, 10)[0][0]);
+		assertEquals(0, ws.searchDepartment("MA", "c", 1, 10).length);
+		assertEquals(0, ws.searchDepartment("EE", "c", 0, 10).length);
+		assertThrows(IllegalArgumentException.class, () -> ws.searchDepartment("MA", "c", -1, 10));
+		
+		matches = ws.getCoursesMeetingWithin("H", 900, 1500);
+		assertEquals(3, matches.length);
+		assertEquals("CSC 216", matches[0][0]);
+		assertEquals("CH 101", matches[1][0]);
+		assertEquals("MA 305", matches[2][0]);
+	}
+	
+	/**
+	 * Test WolfScheduler.reloadCatalog().
+	 */
+	@Test
+	public void testReloadCatalog() {
+		Path catalogPath = FileSystems.getDefault().getPath("test-files", "actual_reload_catalog.txt");
+		try {
+			Files.copy(FileSystems.getDefault().getPath("test-files", "starter_course_records.txt"), catalogPath,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			fail("Unable to copy catalog");
+		}
+		WolfScheduler ws = new WolfScheduler(catalogPath.toString());
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		
+		//Change the instructor for CSC 216-001 and drop everything else
+		try {
+			Files.write(catalogPath, "CSC 216,Software Development Fundamentals,001,3,jctetter,TH,1330,1445\n".getBytes());
+		} catch (IOException e) {
+			fail("Unable to write catalog");
+		}
+		ws.reloadCatalog();
+		
+		assertEquals(1, ws.getCourseCatalog().length);
+		assertEquals(2, ws.getFullScheduledActivities().length);
+		assertEquals("jctetter", ws.getFullScheduledActivities()[0][4]);
+		assertEquals(EVENT_TITLE, ws.getFullScheduledActivities()[1][2]);
+	}
+	
+	/**
+	 * Test that WolfScheduler.startCatalogWatch() reloads the catalog after the file
+	 * changes, and that nothing is reloaded after stopCatalogWatch().
+	 */
+	@Test
+	public void testCatalogWatch() {
+		Path catalogPath = FileSystems.getDefault().getPath("test-files", "actual_watch_catalog.txt");
+		try {
+			Files.copy(FileSystems.getDefault().getPath("test-files", "starter_course_records.txt"), catalogPath,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			fail("Unable to copy catalog");
+		}
+		WolfScheduler ws = new WolfScheduler(catalogPath.toString());
+		assertTrue(ws.getCourseCatalog().length > 1);
+		
+		ws.startCatalogWatch();
+		try {
+			//Starting twice keeps the one watcher
+			ws.startCatalogWatch();
+			Files.write(catalogPath, "CSC 216,Software Development Fundamentals,001,3,jctetter,TH,1330,1445\n".getBytes());
+			long deadline = System.currentTimeMillis() + 10000;
+			while (ws.getCourseCatalog().length != 1 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+			assertEquals(1, ws.getCourseCatalog().length);
+			assertEquals("jctetter", ws.getCourseFromCatalog("CSC 216", "001").getInstructorId());
+		} catch (IOException | InterruptedException e) {
+			fail("Unable to change catalog");
+		} finally {
+			ws.stopCatalogWatch();
+		}
+		
+		//Once stopped, changes to the file are left alone
+		try {
+			Files.copy(FileSystems.getDefault().getPath("test-files", "starter_course_records.txt"), catalogPath,
+					StandardCopyOption.REPLACE_EXISTING);
+			Thread.sleep(1000);
+		} catch (IOException | InterruptedException e) {
+			fail("Unable to change catalog");
+		}
+		assertEquals(1, ws.getCourseCatalog().length);
+		ws.stopCatalogWatch();
+	}
+	
+	/**
+	 * Test that catalog queries running on other threads always see a whole catalog
+	 * while WolfScheduler.reloadCatalog() swaps catalogs back and forth.
+	 */
+	@Test
+	public void testReloadCatalogWhileReading() {
+		Path starterPath = FileSystems.getDefault().getPath("test-files", "starter_course_records.txt");
+		Path catalogPath = FileSystems.getDefault().getPath("test-files", "actual_reload_catalog.txt");
+		try {
+			Files.copy(starterPath, catalogPath, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			fail("Unable to copy catalog");
+		}
+		WolfScheduler ws = new WolfScheduler(catalogPath.toString());
+		int fullSize = ws.getCourseCatalog().length;
+		
+		AtomicReference<String> failure = new AtomicReference<>();
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = new Thread(() -> {
+				for (int j = 0; j < 2000 && failure.get() == null; j++) {
+					int size = ws.getCourseCatalog().length;
+					if (size != 1 && size != fullSize) {
+						failure.set("Catalog had " + size + " courses");
+					}
+					for (String[] row : ws.searchCatalog("CSC 216", 0, 20)) {
+						if (!row[0].equals("CSC 216")) {
+							failure.set("Search returned " + row[0]);
+						}
+					}
+				}
+			});
+			readers[i].start();
+		}
+		
+		//Alternate between the full catalog and a single course while the readers run
+		try {
+			for (int i = 0; i < 20; i++) {
+				if (i % 2 == 0) {
+					Files.write(catalogPath, "CSC 216,Software Development Fundamentals,001,3,jctetter,TH,1330,1445\n".getBytes());
+				} else {
+					Files.copy(starterPath, catalogPath, StandardCopyOption.REPLACE_EXISTING);
+				}
+				ws.reloadCatalog();
+			}
+			for (Thread reader : readers) {
+				reader.join();
+			}
+		} catch (IOException | InterruptedException e) {
+			fail("Unable to reload catalog");
+		}
+		assertNull(failure.get());
+		assertEquals(fullSize, ws.getCourseCatalog().length);
+	}
+	
+	/**
+	 * Test that a reload finishing after a later reload does not replace the later
+	 * reload's catalog.
+	 */
+	@Test
+	public void testReloadCatalogOutOfOrder() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		Course newer = new Course(NAME, TITLE, SECTION, CREDITS, "jctetter", MEETING_DAYS, START_TIME, END_TIME);
+		Course older = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		CatalogSnapshot newerSnapshot = new CatalogSnapshot(new CourseCatalog(List.of(newer).iterator()));
+		CatalogSnapshot olderSnapshot = new CatalogSnapshot(new CourseCatalog(List.of(older).iterator()));
+		
+		//The second reload finishes first, then the first reload finishes
+		ws.replaceCatalog(newerSnapshot, 2);
+		ws.replaceCatalog(olderSnapshot, 1);
+		assertEquals("jctetter", ws.getCourseFromCatalog(NAME, SECTION).getInstructorId());
+		
+		//A later reload is still published
+		ws.replaceCatalog(olderSnapshot, 3);
+		assertEquals(INSTRUCTOR_ID, ws.getCourseFromCatalog(NAME, SECTION).getInstructorId());
 	}
 	
 	/**